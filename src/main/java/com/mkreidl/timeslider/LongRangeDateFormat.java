@@ -0,0 +1,164 @@
+package com.mkreidl.timeslider;
+
+import java.text.DateFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal date formatter for {@link LongRangeTime}, writing into a reusable StringBuilder
+ * without creating a Calendar, Date or String per label.
+ * <p>
+ * Supports the SimpleDateFormat letters y, M, d, H, m, s, S and quoted literals.
+ * Years use astronomical numbering and are never truncated: "yyyy" formats year -752 as "-0752".
+ * "MMM" and "MMMM" give the short and long month names of the locale.
+ */
+final class LongRangeDateFormat
+{
+    private final char[] letters;  // 0 for literal tokens
+    private final int[] counts;
+    private final String[] literals;
+    private final String[] shortMonths;
+    private final String[] months;
+
+    LongRangeDateFormat( String pattern, Locale locale )
+    {
+        final List<Character> letterList = new ArrayList<>();
+        final List<Integer> countList = new ArrayList<>();
+        final List<String> literalList = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while ( i < pattern.length() )
+        {
+            final char c = pattern.charAt( i );
+            if ( c == '\'' )
+                i = appendQuoted( pattern, i, literal );
+            else if ( ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' ) )
+            {
+                if ( "yMdHmsS".indexOf( c ) < 0 )
+                    throw new IllegalArgumentException( "Unsupported pattern letter '" + c + "' in long range pattern: " + pattern );
+                int count = 1;
+                while ( i + count < pattern.length() && pattern.charAt( i + count ) == c )
+                    ++count;
+                if ( literal.length() > 0 )
+                {
+                    letterList.add( (char)0 );
+                    countList.add( 0 );
+                    literalList.add( literal.toString() );
+                    literal.setLength( 0 );
+                }
+                letterList.add( c );
+                countList.add( count );
+                literalList.add( null );
+                i += count;
+            }
+            else
+            {
+                literal.append( c );
+                ++i;
+            }
+        }
+        if ( literal.length() > 0 )
+        {
+            letterList.add( (char)0 );
+            countList.add( 0 );
+            literalList.add( literal.toString() );
+        }
+
+        letters = new char[letterList.size()];
+        counts = new int[letters.length];
+        for ( int k = 0; k < letters.length; k++ )
+        {
+            letters[k] = letterList.get( k );
+            counts[k] = countList.get( k );
+        }
+        literals = literalList.toArray( new String[letters.length] );
+
+        final DateFormatSymbols symbols = DateFormatSymbols.getInstance( locale );
+        shortMonths = symbols.getShortMonths();
+        months = symbols.getMonths();
+    }
+
+    /**
+     * Append the literal starting with the quote at index start, where "''" stands for a single quote
+     * both inside and outside of a quoted section, as in SimpleDateFormat.
+     *
+     * @return the index after the closing quote
+     */
+    private static int appendQuoted( String pattern, int start, StringBuilder literal )
+    {
+        if ( start + 1 < pattern.length() && pattern.charAt( start + 1 ) == '\'' )
+        {
+            literal.append( '\'' );
+            return start + 2;
+        }
+        int i = start + 1;
+        while ( i < pattern.length() )
+        {
+            final char c = pattern.charAt( i );
+            if ( c != '\'' )
+            {
+                literal.append( c );
+                ++i;
+            }
+            else if ( i + 1 < pattern.length() && pattern.charAt( i + 1 ) == '\'' )
+            {
+                literal.append( '\'' );
+                i += 2;
+            }
+            else
+                return i + 1;
+        }
+        throw new IllegalArgumentException( "Unterminated quote in pattern: " + pattern );
+    }
+
+    void format( LongRangeTime time, StringBuilder out )
+    {
+        for ( int k = 0; k < letters.length; k++ )
+            switch ( letters[k] )
+            {
+                case 'y':
+                    appendPadded( out, time.year, counts[k] );
+                    break;
+                case 'M':
+                    if ( counts[k] >= 4 )
+                        out.append( months[time.month - 1] );
+                    else if ( counts[k] == 3 )
+                        out.append( shortMonths[time.month - 1] );
+                    else
+                        appendPadded( out, time.month, counts[k] );
+                    break;
+                case 'd':
+                    appendPadded( out, time.day, counts[k] );
+                    break;
+                case 'H':
+                    appendPadded( out, time.getHour(), counts[k] );
+                    break;
+                case 'm':
+                    appendPadded( out, time.getMinute(), counts[k] );
+                    break;
+                case 's':
+                    appendPadded( out, time.getSecond(), counts[k] );
+                    break;
+                case 'S':
+                    appendPadded( out, time.getMillisecond(), counts[k] );
+                    break;
+                default:
+                    out.append( literals[k] );
+                    break;
+            }
+    }
+
+    private static void appendPadded( StringBuilder out, long value, int width )
+    {
+        if ( value < 0 )
+        {
+            out.append( '-' );
+            value = -value;
+        }
+        for ( long limit = 10; width > 1; --width, limit *= 10 )
+            if ( value < limit )
+                out.append( '0' );
+        out.append( value );
+    }
+}
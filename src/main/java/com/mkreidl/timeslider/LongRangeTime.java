@@ -0,0 +1,208 @@
+package com.mkreidl.timeslider;
+
+import java.util.Calendar;
+
+/**
+ * Calendar-free date arithmetic on local milliseconds since 1970-01-01, based on day numbers in the
+ * proleptic Gregorian calendar with astronomical year numbering (year 0 = 1 BC, year -1 = 2 BC, ...).
+ * Unlike GregorianCalendar there is no switch to Julian dates in 1582, and every conversion,
+ * unit step and quantization takes constant time, well beyond +-1,000,000 years.
+ * <p>
+ * Instances hold the fields of the last decomposed time and are not thread safe.
+ * Time units are given as the Calendar field constants used throughout TimeSlider.
+ */
+final class LongRangeTime
+{
+    static final long MILLIS_PER_SECOND = 1000L;
+    static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    static final long MILLIS_PER_MEAN_YEAR = 146097 * MILLIS_PER_DAY / 400;  // 365.2425 days
+
+    private static final long DAYS_PER_ERA = 146097L;  // days per 400 Gregorian years
+    private static final long DAYS_FROM_ERA_START_TO_EPOCH = 719468L;  // 0000-03-01 to 1970-01-01
+
+    long year;
+    int month;  // 1 - 12
+    int day;  // 1 - 31
+    long millisOfDay;
+
+    static long floorDiv( long x, long y )
+    {
+        final long q = x / y;
+        return ( x % y != 0 && ( ( x ^ y ) < 0 ) ) ? q - 1 : q;
+    }
+
+    static long floorMod( long x, long y )
+    {
+        return x - floorDiv( x, y ) * y;
+    }
+
+    static boolean isLeapYear( long year )
+    {
+        return floorMod( year, 4 ) == 0 && ( floorMod( year, 100 ) != 0 || floorMod( year, 400 ) == 0 );
+    }
+
+    static int lengthOfMonth( long year, int month )
+    {
+        switch ( month )
+        {
+            case 2:
+                return isLeapYear( year ) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return days since 1970-01-01 of the given proleptic Gregorian date
+     */
+    static long epochDay( long year, int month, int day )
+    {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = floorDiv( y, 400 );
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = ( 153 * ( month > 2 ? month - 3 : month + 9 ) + 2 ) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_ERA_START_TO_EPOCH;
+    }
+
+    /**
+     * Approximate length of a time unit, used to translate pixels scrolled into milliseconds.
+     * Years and months use the mean Gregorian lengths.
+     */
+    static long averageMillis( int unit )
+    {
+        switch ( unit )
+        {
+            case Calendar.YEAR:
+                return MILLIS_PER_MEAN_YEAR;
+            case Calendar.MONTH:
+                return MILLIS_PER_MEAN_YEAR / 12;
+            case Calendar.DAY_OF_MONTH:
+                return MILLIS_PER_DAY;
+            case Calendar.HOUR_OF_DAY:
+                return MILLIS_PER_HOUR;
+            case Calendar.MINUTE:
+                return MILLIS_PER_MINUTE;
+            case Calendar.SECOND:
+                return MILLIS_PER_SECOND;
+            default:
+                return 1L;
+        }
+    }
+
+    void setEpochDay( long epochDay )
+    {
+        final long z = epochDay + DAYS_FROM_ERA_START_TO_EPOCH;
+        final long era = floorDiv( z, DAYS_PER_ERA );
+        final long dayOfEra = z - era * DAYS_PER_ERA;
+        final long yearOfEra = ( dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096 ) / 365;
+        final long dayOfYear = dayOfEra - ( 365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100 );
+        final int shiftedMonth = (int)( ( 5 * dayOfYear + 2 ) / 153 );  // 0 = March
+        day = (int)( dayOfYear - ( 153 * shiftedMonth + 2 ) / 5 + 1 );
+        month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        year = yearOfEra + era * 400 + ( month <= 2 ? 1 : 0 );
+    }
+
+    void setLocalMillis( long localMillis )
+    {
+        final long epochDay = floorDiv( localMillis, MILLIS_PER_DAY );
+        millisOfDay = localMillis - epochDay * MILLIS_PER_DAY;
+        setEpochDay( epochDay );
+    }
+
+    long getLocalMillis()
+    {
+        return epochDay( year, month, day ) * MILLIS_PER_DAY + millisOfDay;
+    }
+
+    /**
+     * Add a number of time units to local milliseconds. Month and year steps keep the day of month,
+     * clamped to the length of the resulting month, like Calendar.add.
+     */
+    long add( long localMillis, int unit, long count )
+    {
+        switch ( unit )
+        {
+            case Calendar.YEAR:
+                setLocalMillis( localMillis );
+                year += count;
+                clampDay();
+                return getLocalMillis();
+            case Calendar.MONTH:
+                setLocalMillis( localMillis );
+                final long months = month - 1 + count;
+                year += floorDiv( months, 12 );
+                month = (int)floorMod( months, 12 ) + 1;
+                clampDay();
+                return getLocalMillis();
+            default:
+                return localMillis + count * averageMillis( unit );
+        }
+    }
+
+    /**
+     * Take all fields from the given unit upwards from continuousMillis and all smaller fields
+     * from currentMillis. Years are additionally floored to a multiple of yearFactor.
+     *
+     * @return the quantized local milliseconds
+     */
+    long quantize( long continuousMillis, long currentMillis, int unit, int yearFactor )
+    {
+        setLocalMillis( currentMillis );
+        final int currentDay = day;
+        final int currentMonth = month;
+        final long currentMillisOfDay = millisOfDay;
+        setLocalMillis( continuousMillis );
+        switch ( unit )
+        {
+            case Calendar.YEAR:
+                year = floorDiv( year, yearFactor ) * yearFactor;
+                month = currentMonth;
+            case Calendar.MONTH:
+                day = currentDay;
+                clampDay();
+            case Calendar.DAY_OF_MONTH:
+                millisOfDay = currentMillisOfDay;
+                break;
+            case Calendar.HOUR_OF_DAY:
+            case Calendar.MINUTE:
+            case Calendar.SECOND:
+                final long unitMillis = averageMillis( unit );
+                millisOfDay = millisOfDay - millisOfDay % unitMillis + currentMillisOfDay % unitMillis;
+                break;
+        }
+        return getLocalMillis();
+    }
+
+    int getHour()
+    {
+        return (int)( millisOfDay / MILLIS_PER_HOUR );
+    }
+
+    int getMinute()
+    {
+        return (int)( millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE );
+    }
+
+    int getSecond()
+    {
+        return (int)( millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND );
+    }
+
+    int getMillisecond()
+    {
+        return (int)( millisOfDay % MILLIS_PER_SECOND );
+    }
+
+    private void clampDay()
+    {
+        day = Math.min( day, lengthOfMonth( year, month ) );
+    }
+}
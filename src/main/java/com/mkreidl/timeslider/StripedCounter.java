@@ -0,0 +1,40 @@
+package com.mkreidl.timeslider;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counter that spreads updates from different threads over padded cells,
+ * so concurrent writers do not contend on one cache line. Reads sum all cells.
+ */
+class StripedCounter
+{
+    private static final int STRIPES = 8;  // power of two
+    private static final int PADDING = 8;  // longs per 64 byte cache line
+
+    private final AtomicLongArray cells = new AtomicLongArray( STRIPES * PADDING );
+
+    void add( long delta )
+    {
+        final int stripe = (int)( Thread.currentThread().getId() & ( STRIPES - 1 ) );
+        cells.getAndAdd( stripe * PADDING, delta );
+    }
+
+    void increment()
+    {
+        add( 1 );
+    }
+
+    long sum()
+    {
+        long sum = 0;
+        for ( int i = 0; i < STRIPES; i++ )
+            sum += cells.get( i * PADDING );
+        return sum;
+    }
+
+    void reset()
+    {
+        for ( int i = 0; i < STRIPES; i++ )
+            cells.set( i * PADDING, 0 );
+    }
+}
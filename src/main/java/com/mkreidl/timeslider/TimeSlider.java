@@ -5,12 +5,23 @@ import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.Trace;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import android.util.AttributeSet;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
+import android.view.accessibility.AccessibilityNodeProvider;
 import android.widget.Scroller;
 
 import java.text.SimpleDateFormat;
@@ -29,6 +40,12 @@ public class TimeSlider extends View implements TimeScrollable
 
     private static final TimeZone UTC = TimeZone.getTimeZone( "UTC" );
 
+    private static final String TRACE_DRAW = "TimeSlider.draw";
+    private static final String TRACE_QUANTIZE = "TimeSlider.quantize";
+    private static final String TRACE_DISPATCH = "TimeSlider.dispatch";
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final int SETTLE_DURATION_MILLIS = 150;
+
     /**
      * Determine an approximate number of milliseconds for given time unit.
      * This is used to determine, from a given distance of pointer movement
@@ -108,6 +125,33 @@ public class TimeSlider extends View implements TimeScrollable
         {
         }
     };
+    @Nullable
+    private TimeSliderMetrics metrics;  // null when instrumentation is disabled
+
+    // Accessibility: labels of the visible items are cached for the virtual view tree and only
+    // refreshed when the quantized window changes; selection and content change events are coalesced per frame.
+    private final AccessibilityManager accessibilityManager =
+            (AccessibilityManager)getContext().getSystemService( Context.ACCESSIBILITY_SERVICE );
+    private TimeSliderAccessibility accessibility;
+    private String[] itemLabels;
+    private long[] itemLabelTimes;  // item times of itemLabels, local in long range mode
+    private long[] newItemLabelTimes;
+    private final Date itemLabelDate = new Date();
+    private long itemLabelsTime;
+    private int itemLabelsUnitIndex = -1;
+    private boolean itemLabelsDirty = true;
+    private int itemLabelsFormatted;
+    private boolean accessibilityEventPending;
+    private final Runnable sendAccessibilityEvent = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            accessibilityEventPending = false;
+            sendAccessibilityEvent( AccessibilityEvent.TYPE_VIEW_SELECTED );
+            sendSubtreeChangedEvent();
+        }
+    };
 
     // Date and time data
     private long time;
@@ -115,6 +159,8 @@ public class TimeSlider extends View implements TimeScrollable
     private Locale locale = Locale.getDefault();
     private final Calendar calendar = Calendar.getInstance( UTC );
     private final Calendar tmpCalendar = Calendar.getInstance( UTC );
+    private final LongRangeTime longRangeTime = new LongRangeTime();
+    private final StringBuilder label = new StringBuilder();
 
     // Metric of the view
     private float centerX, centerY;
@@ -124,6 +170,14 @@ public class TimeSlider extends View implements TimeScrollable
     // is stored.
     private long continuousTime;  // used internally to track progress while scrolling/flinging
     private long flingStartTime;
+    private boolean touching;
+    private boolean settling;  // the scroller moves continuousTime back to time after a gesture
+
+    // Smooth scrolling: the label strip is recorded once per displayed time and only translated
+    // by the sub-item offset derived from continuousTime in between.
+    private StripNode stripNode;  // API 29+ only, created on the first hardware accelerated draw
+    private long recordedTime;
+    private boolean stripDirty = true;
 
     // The following correspond to attributes definable in xml
     private Orientation orientation = Orientation.DOWN;
@@ -132,6 +186,8 @@ public class TimeSlider extends View implements TimeScrollable
     private float scrollSpeed = 1f;
     private int numberItemsBefore = 2;
     private int numberItemsAfter = 2;
+    private boolean longRange = false;
+    private boolean smoothScroll = false;
 
     private float fontSizeSelected = 18;
     private float fontSizeNormal = 12;
@@ -142,6 +198,7 @@ public class TimeSlider extends View implements TimeScrollable
     private String[] timeUnitNames;
     private String[] dateFormatStrings;
     private SimpleDateFormat[] dateFormats;
+    private LongRangeDateFormat[] longRangeFormats;
     private int unitIndex = 0;
     private int numItems;
     private final Paint normalPaint = new Paint();
@@ -150,7 +207,8 @@ public class TimeSlider extends View implements TimeScrollable
     private int timeUnit;
     private int timeUnitFactor;
     private SimpleDateFormat dateFormat;
-    private float millisPerScrolledPixel;
+    private LongRangeDateFormat longRangeFormat;
+    private double millisPerScrolledPixel;
 
     public TimeSlider( Context context )
     {
@@ -175,6 +233,7 @@ public class TimeSlider extends View implements TimeScrollable
         numItems = 1 + numberItemsAfter + numberItemsBefore;
         normalPaint.setTextAlign( Paint.Align.CENTER );
         selectedPaint.setTextAlign( Paint.Align.CENTER );
+        setImportantForAccessibility( IMPORTANT_FOR_ACCESSIBILITY_YES );
         initializeDateFormats( timeZone, locale );
         parseTimeUnitString( timeUnits[unitIndex] );
         setTime( time );
@@ -220,7 +279,7 @@ public class TimeSlider extends View implements TimeScrollable
             if ( a.getString( R.styleable.TimeSlider_TimeScrollable_format_string ) != null )
                 dateFormatStrings = a.getString( R.styleable.TimeSlider_TimeScrollable_format_string ).split( ";" );
             else
-                dateFormatStrings = new String[]{"HH:mm:ss;HH:mm;HH"};
+                dateFormatStrings = new String[]{"HH:mm:ss", "HH:mm", "HH"};
 
             fontSizeNormal = a.getDimension( R.styleable.TimeSlider_TimeScrollable_font_size, fontSizeNormal );
             fontSizeSelected = a.getDimension( R.styleable.TimeSlider_TimeScrollable_font_size_selected, fontSizeSelected );
@@ -236,6 +295,8 @@ public class TimeSlider extends View implements TimeScrollable
 
             numberItemsAfter = a.getInt( R.styleable.TimeSlider_TimeScrollable_number_items_after, numberItemsAfter );
             numberItemsBefore = a.getInt( R.styleable.TimeSlider_TimeScrollable_number_items_before, numberItemsBefore );
+            longRange = a.getBoolean( R.styleable.TimeSlider_TimeScrollable_long_range, longRange );
+            smoothScroll = a.getBoolean( R.styleable.TimeSlider_TimeScrollable_smooth_scroll, smoothScroll );
         }
         finally
         {
@@ -253,6 +314,15 @@ public class TimeSlider extends View implements TimeScrollable
                 dateFormats[i].setTimeZone( timeZone );
         }
         dateFormat = dateFormats[unitIndex];
+        if ( longRange )
+        {
+            longRangeFormats = new LongRangeDateFormat[dateFormatStrings.length];
+            for ( int i = 0; i < longRangeFormats.length; i++ )
+                longRangeFormats[i] = new LongRangeDateFormat( dateFormatStrings[i], locale );
+            longRangeFormat = longRangeFormats[unitIndex];
+        }
+        stripDirty = true;
+        itemLabelsDirty = true;
     }
 
     private void parseTimeUnitString( String timeUnitString )
@@ -293,6 +363,96 @@ public class TimeSlider extends View implements TimeScrollable
 
     @Override
     protected synchronized void onDraw( Canvas canvas )
+    {
+        Trace.beginSection( TRACE_DRAW );
+        try
+        {
+            final TimeSliderMetrics metrics = this.metrics;
+            if ( metrics == null )
+            {
+                drawFrame( canvas );
+                return;
+            }
+            final long start = System.nanoTime();
+            final int labelsFormatted = drawFrame( canvas );
+            metrics.onDraw( this, System.nanoTime() - start, labelsFormatted );
+        }
+        finally
+        {
+            Trace.endSection();
+        }
+    }
+
+    private int drawFrame( Canvas canvas )
+    {
+        if ( !smoothScroll )
+            return drawItems( canvas, 0 );
+        final float offset = getScrollOffset();
+        canvas.save();
+        canvas.clipRect( 0, 0, getWidth(), getHeight() );
+        try
+        {
+            if ( Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && canvas.isHardwareAccelerated() )
+                return drawStripNode( canvas, offset );
+            canvas.translate( isHorizontal() ? offset : 0, isVertical() ? offset : 0 );
+            return drawItems( canvas, 1 );
+        }
+        finally
+        {
+            canvas.restore();
+        }
+    }
+
+    @RequiresApi( Build.VERSION_CODES.Q )
+    private int drawStripNode( Canvas canvas, float offset )
+    {
+        if ( stripNode == null )
+            stripNode = new StripNode();
+        int labelsFormatted = 0;
+        if ( stripDirty || recordedTime != time || !stripNode.hasDisplayList() )
+        {
+            final Canvas recordingCanvas = stripNode.beginRecording( getWidth(), getHeight() );
+            try
+            {
+                labelsFormatted = drawItems( recordingCanvas, 1 );
+            }
+            finally
+            {
+                stripNode.endRecording();
+            }
+            recordedTime = time;
+            stripDirty = false;
+        }
+        stripNode.draw( canvas, isHorizontal() ? offset : 0, isVertical() ? offset : 0 );
+        return labelsFormatted;
+    }
+
+    @Override
+    protected void onDetachedFromWindow()
+    {
+        super.onDetachedFromWindow();
+        if ( Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && stripNode != null )
+            stripNode.discardDisplayList();
+    }
+
+    /**
+     * Pixel offset of the label strip corresponding to the part of continuousTime
+     * not yet reflected in the quantized time, at most one item in either direction.
+     */
+    private float getScrollOffset()
+    {
+        if ( !touching && scroller.isFinished() )
+            return 0;
+        final long unitMillis = ( longRange ? LongRangeTime.averageMillis( timeUnit ) : convertToMillis( timeUnit ) ) * timeUnitFactor;
+        final float fraction = Math.max( -1f, Math.min( 1f, (float)( continuousTime - time ) / unitMillis ) );
+        final int direction = orientation == Orientation.LEFT || orientation == Orientation.UP ? -1 : 1;
+        return -direction * fraction * ( isHorizontal() ? minItemWidth : minItemHeight );
+    }
+
+    /**
+     * @param extraItems number of additional items drawn beyond each end, to fill in while the strip is translated
+     */
+    private int drawItems( Canvas canvas, int extraItems )
     {
         float posX = centerX;
         float posY = centerY;
@@ -308,24 +468,50 @@ public class TimeSlider extends View implements TimeScrollable
             posY -= direction * ( 1f + numberItemsBefore + numberItemsAfter ) / 2f * minItemHeight;
         posY -= normalPaint.getTextSize() / 2f;
 
-        tmpCalendar.setTimeInMillis( time );
-        addTimeUnits( tmpCalendar, timeUnit, -numberItemsBefore * timeUnitFactor );
+        final int firstItem = -numberItemsBefore - extraItems;
+        final int lastItem = numberItemsAfter + extraItems;
+        if ( isHorizontal() )
+            posX -= direction * extraItems * minItemWidth;
+        if ( isVertical() )
+            posY -= direction * extraItems * minItemHeight;
 
-        for ( int i = -numberItemsBefore; i <= numberItemsAfter; i++ )
+        long itemTime = 0;  // local time of the current item in long range mode
+        if ( longRange )
+            itemTime = longRangeTime.add( toLocalTime( time ), timeUnit, firstItem * timeUnitFactor );
+        else
         {
-            final Date tmpTime = tmpCalendar.getTime();
+            tmpCalendar.setTimeInMillis( time );
+            addTimeUnits( tmpCalendar, timeUnit, firstItem * timeUnitFactor );
+        }
+
+        for ( int i = firstItem; i <= lastItem; i++ )
+        {
+            final CharSequence text;
+            if ( longRange )
+            {
+                longRangeTime.setLocalMillis( itemTime );
+                label.setLength( 0 );
+                longRangeFormat.format( longRangeTime, label );
+                text = label;
+            }
+            else
+                text = dateFormat.format( tmpCalendar.getTime() );
             if ( fontSizeLinearGradient )
                 normalPaint.setTextSize( fontSizeSelected + Math.abs( i ) * ( fontSizeNormal - fontSizeSelected ) );
             if ( i == 0 )
-                canvas.drawText( dateFormat.format( tmpTime ), posX, posY, selectedPaint );
+                canvas.drawText( text, 0, text.length(), posX, posY, selectedPaint );
             else
-                canvas.drawText( dateFormat.format( tmpTime ), posX, posY, normalPaint );
+                canvas.drawText( text, 0, text.length(), posX, posY, normalPaint );
             if ( isHorizontal() )
                 posX += direction * minItemWidth;
             if ( isVertical() )
                 posY += direction * minItemHeight;
-            addTimeUnits( tmpCalendar, timeUnit, timeUnitFactor );
+            if ( longRange )
+                itemTime = longRangeTime.add( itemTime, timeUnit, timeUnitFactor );
+            else
+                addTimeUnits( tmpCalendar, timeUnit, timeUnitFactor );
         }
+        return 1 + lastItem - firstItem;
     }
 
     @Override
@@ -338,8 +524,18 @@ public class TimeSlider extends View implements TimeScrollable
 
         int itemHeight = minItemHeight;
         int itemWidth = minItemWidth;
+        if ( longRange )
+            longRangeTime.setLocalMillis( toLocalTime( time ) );
         for ( int i = dateFormatStrings.length - 1; i >= 0; i-- )
         {
+            if ( longRange )
+            {
+                label.setLength( 0 );
+                longRangeFormats[i].format( longRangeTime, label );
+                itemWidth = Math.max( itemWidth, (int)selectedPaint.measureText( label, 0, label.length() ) );
+                itemWidth = Math.max( itemWidth, (int)normalPaint.measureText( label, 0, label.length() ) );
+                continue;
+            }
             final SimpleDateFormat dateFormat = dateFormats[i];
             itemWidth = Math.max( itemWidth, (int)selectedPaint.measureText( dateFormat.format( calendar.getTime() ) ) );
             itemWidth = Math.max( itemWidth, (int)normalPaint.measureText( dateFormat.format( calendar.getTime() ) ) );
@@ -366,13 +562,323 @@ public class TimeSlider extends View implements TimeScrollable
     {
         centerX = w / 2f;
         centerY = h / 2f;
+        stripDirty = true;
+    }
+
+    @Override
+    public AccessibilityNodeProvider getAccessibilityNodeProvider()
+    {
+        if ( accessibility == null )
+            accessibility = new TimeSliderAccessibility( this );
+        return accessibility;
+    }
+
+    @Override
+    public boolean dispatchHoverEvent( MotionEvent event )
+    {
+        if ( accessibility != null && accessibilityManager != null && accessibilityManager.isTouchExplorationEnabled()
+                && accessibility.onHoverEvent( event ) )
+            return true;
+        return super.dispatchHoverEvent( event );
+    }
+
+    @Override
+    public void onPopulateAccessibilityEvent( AccessibilityEvent event )
+    {
+        super.onPopulateAccessibilityEvent( event );
+        event.getText().add( getItemLabels()[getSelectedItemIndex()] );
+    }
+
+    /**
+     * Labels of the visible items. When the window moved by fewer items than are visible,
+     * the labels still visible are shifted and only the items that entered the window are formatted.
+     */
+    synchronized String[] getItemLabels()
+    {
+        if ( itemLabels != null && !itemLabelsDirty && itemLabelsTime == time && itemLabelsUnitIndex == unitIndex )
+            return itemLabels;
+        if ( itemLabels == null || itemLabels.length != numItems )
+        {
+            itemLabels = new String[numItems];
+            itemLabelTimes = new long[numItems];
+            newItemLabelTimes = new long[numItems];
+            itemLabelsDirty = true;
+        }
+
+        final long[] times = newItemLabelTimes;
+        if ( longRange )
+        {
+            times[0] = longRangeTime.add( toLocalTime( time ), timeUnit, -numberItemsBefore * timeUnitFactor );
+            for ( int k = 1; k < numItems; k++ )
+                times[k] = longRangeTime.add( times[k - 1], timeUnit, timeUnitFactor );
+        }
+        else
+        {
+            tmpCalendar.setTimeInMillis( time );
+            addTimeUnits( tmpCalendar, timeUnit, -numberItemsBefore * timeUnitFactor );
+            for ( int k = 0; k < numItems; k++ )
+            {
+                times[k] = tmpCalendar.getTimeInMillis();
+                addTimeUnits( tmpCalendar, timeUnit, timeUnitFactor );
+            }
+        }
+
+        // Item times follow from the first one by the same unit steps, so if the new window starts at an old item
+        // (or the old one at a new item), all items from there on coincide.
+        int first = 0;
+        int end = numItems;
+        if ( !itemLabelsDirty && itemLabelsUnitIndex == unitIndex )
+            for ( int k = 0; k < numItems; k++ )
+                if ( times[0] == itemLabelTimes[k] )
+                {
+                    System.arraycopy( itemLabels, k, itemLabels, 0, numItems - k );
+                    first = numItems - k;
+                    break;
+                }
+                else if ( itemLabelTimes[0] == times[k] )
+                {
+                    System.arraycopy( itemLabels, 0, itemLabels, k, numItems - k );
+                    end = k;
+                    break;
+                }
+        for ( int k = first; k < end; k++ )
+            itemLabels[k] = formatItemLabel( times[k] );
+        itemLabelsFormatted += end - first;
+
+        newItemLabelTimes = itemLabelTimes;
+        itemLabelTimes = times;
+        itemLabelsTime = time;
+        itemLabelsUnitIndex = unitIndex;
+        itemLabelsDirty = false;
+        return itemLabels;
+    }
+
+    /**
+     * @return total number of labels formatted by {@link #getItemLabels}
+     */
+    synchronized int getItemLabelsFormatted()
+    {
+        return itemLabelsFormatted;
+    }
+
+    private String formatItemLabel( long itemTime )
+    {
+        if ( longRange )
+        {
+            longRangeTime.setLocalMillis( itemTime );
+            label.setLength( 0 );
+            longRangeFormat.format( longRangeTime, label );
+            return label.toString();
+        }
+        itemLabelDate.setTime( itemTime );
+        return dateFormat.format( itemLabelDate );
+    }
+
+    int getSelectedItemIndex()
+    {
+        return numberItemsBefore;
+    }
+
+    /**
+     * @return center of the given visible item along the scroll axis, matching the positions used in drawItems
+     */
+    private float getItemCenter( int item )
+    {
+        final int direction = orientation == Orientation.LEFT || orientation == Orientation.UP ? -1 : 1;
+        final float center = isHorizontal() ? centerX : centerY;
+        final int size = isHorizontal() ? minItemWidth : minItemHeight;
+        return center - direction * numItems / 2f * size + direction * item * size;
+    }
+
+    void getItemBounds( int item, Rect bounds )
+    {
+        final float center = getItemCenter( item );
+        if ( isHorizontal() )
+            bounds.set( (int)( center - minItemWidth / 2f ), 0, (int)( center + minItemWidth / 2f ), getHeight() );
+        else
+            bounds.set( 0, (int)( center - minItemHeight / 2f ), getWidth(), (int)( center + minItemHeight / 2f ) );
+        bounds.intersect( 0, 0, getWidth(), getHeight() );
+    }
+
+    /**
+     * @return index of the visible item at the given view coordinates, or -1
+     */
+    int getItemIndexAt( float x, float y )
+    {
+        final int direction = orientation == Orientation.LEFT || orientation == Orientation.UP ? -1 : 1;
+        final float size = isHorizontal() ? minItemWidth : minItemHeight;
+        final float distance = direction * ( ( isHorizontal() ? x : y ) - getItemCenter( 0 ) );
+        final int item = Math.round( distance / size );
+        return item >= 0 && item < numItems ? item : -1;
+    }
+
+    /**
+     * Move the time by a number of the current time units, as done by the accessibility actions.
+     */
+    void stepTimeUnits( int count )
+    {
+        if ( count == 0 )
+            return;
+        synchronized ( this )
+        {
+            if ( longRange )
+                time = toUtcTime( longRangeTime.add( toLocalTime( time ), timeUnit, (long)count * timeUnitFactor ) );
+            else
+            {
+                tmpCalendar.setTimeInMillis( time );
+                addTimeUnits( tmpCalendar, timeUnit, count * timeUnitFactor );
+                time = tmpCalendar.getTimeInMillis();
+            }
+            calendar.setTimeInMillis( time );
+            continuousTime = time;
+        }
+        dispatchTimeChanged();
+        invalidateItems();
+        notifyAccessibilityTimeChanged();
+    }
+
+    /**
+     * Announce a new quantized time or time unit. Called at unit boundaries only, and coalesced to one
+     * selection and one content change event per frame, so that flings do not flood accessibility services.
+     */
+    private void notifyAccessibilityTimeChanged()
+    {
+        if ( accessibilityEventPending || accessibilityManager == null || !accessibilityManager.isEnabled() )
+            return;
+        accessibilityEventPending = true;
+        postOnAnimation( sendAccessibilityEvent );
+    }
+
+    /**
+     * All virtual item views change their texts when the quantized window moves.
+     */
+    private void sendSubtreeChangedEvent()
+    {
+        final ViewParent parent = getParent();
+        if ( parent == null )
+            return;
+        final AccessibilityEvent event = AccessibilityEvent.obtain( AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED );
+        onInitializeAccessibilityEvent( event );
+        event.setContentChangeTypes( AccessibilityEvent.CONTENT_CHANGE_TYPE_SUBTREE );
+        parent.requestSendAccessibilityEvent( this, event );
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState()
+    {
+        final SavedState state = new SavedState( super.onSaveInstanceState() );
+        state.time = time;
+        state.unitIndex = unitIndex;
+        return state;
+    }
+
+    @Override
+    protected void onRestoreInstanceState( Parcelable state )
+    {
+        if ( !( state instanceof SavedState ) )
+        {
+            super.onRestoreInstanceState( state );
+            return;
+        }
+        final SavedState savedState = (SavedState)state;
+        super.onRestoreInstanceState( savedState.getSuperState() );
+        restoreState( savedState.time, savedState.unitIndex );
+        invalidateItems();
+    }
+
+    /**
+     * Apply saved time and unit index without notifying listeners or invalidating,
+     * so that a parent can restore several sliders and invalidate them in one pass.
+     */
+    void restoreState( long time, int unitIndex )
+    {
+        if ( unitIndex >= 0 && unitIndex < timeUnits.length )
+        {
+            if ( this.unitIndex != unitIndex )
+                stripDirty = true;
+            this.unitIndex = unitIndex;
+            dateFormat = dateFormats[unitIndex];
+            if ( longRange )
+                longRangeFormat = longRangeFormats[unitIndex];
+            parseTimeUnitString( timeUnits[unitIndex] );
+        }
+        this.time = time;
+        stopScrolling();
+        calendar.setTimeInMillis( time );
+    }
+
+    /**
+     * Stop a running fling or settle and align continuousTime with an externally set time.
+     */
+    private void stopScrolling()
+    {
+        scroller.forceFinished( true );
+        settling = false;
+        continuousTime = time;
+    }
+
+    int getTimeUnitIndex()
+    {
+        return unitIndex;
     }
 
     @Override
     public void setOnTimeScrollListener( @NonNull OnTimeScrollListener listener )
     {
         this.listener = listener;
-        listener.onTimeScroll( time, this );
+        dispatchTimeScroll();
+    }
+
+    /**
+     * Switch to long range mode, where dates are computed in the proleptic Gregorian calendar with
+     * astronomical year numbering (year 0 = 1 BC) instead of GregorianCalendar, and labels are formatted
+     * without Calendar objects. Only the pattern letters y, M, d, H, m, s and S are supported in this mode.
+     */
+    public void setLongRange( boolean longRange )
+    {
+        this.longRange = longRange;
+        initializeDateFormats( timeZone, locale );
+        requestLayout();
+        invalidateItems();
+    }
+
+    public boolean isLongRange()
+    {
+        return longRange;
+    }
+
+    /**
+     * Enable smooth scrolling: while dragging or flinging, labels move continuously with the gesture
+     * instead of jumping in whole items. On hardware accelerated API 29+ canvases the label strip is
+     * recorded into a RenderNode whenever a new item enters the window, and frames in between only
+     * update its translation.
+     */
+    public void setSmoothScroll( boolean smoothScroll )
+    {
+        this.smoothScroll = smoothScroll;
+        stripDirty = true;
+        invalidateItems();
+    }
+
+    public boolean isSmoothScroll()
+    {
+        return smoothScroll;
+    }
+
+    /**
+     * Install a metrics sink to instrument drawing, time quantization and listener dispatch,
+     * or pass null to disable instrumentation at no cost. The android.os.Trace sections for
+     * draw, quantize and dispatch are emitted regardless, as they are nearly free while tracing is off.
+     */
+    public void setMetrics( @Nullable TimeSliderMetrics metrics )
+    {
+        this.metrics = metrics;
+    }
+
+    @Nullable
+    public TimeSliderMetrics getMetrics()
+    {
+        return metrics;
     }
 
     @Override
@@ -384,9 +890,13 @@ public class TimeSlider extends View implements TimeScrollable
     @Override
     public void setTime( long time )
     {
-        this.time = time;
+        if ( time != this.time )
+        {
+            this.time = time;
+            stopScrolling();
+        }
         calendar.setTimeInMillis( time );
-        postInvalidate();
+        invalidateItems();
     }
 
     @Override
@@ -394,7 +904,7 @@ public class TimeSlider extends View implements TimeScrollable
     {
         this.timeZone = timeZone;
         initializeDateFormats( timeZone, locale );
-        postInvalidate();
+        invalidateItems();
     }
 
     @Override
@@ -440,20 +950,132 @@ public class TimeSlider extends View implements TimeScrollable
 
     private void setTimeUnitIndex( int unitIndex, boolean notifyListener )
     {
+        if ( this.unitIndex != unitIndex )
+        {
+            stripDirty = true;
+            notifyAccessibilityTimeChanged();
+        }
         this.unitIndex = unitIndex;
         dateFormat = dateFormats[unitIndex];
+        if ( longRange )
+            longRangeFormat = longRangeFormats[unitIndex];
         parseTimeUnitString( timeUnits[unitIndex] );
         if ( notifyListener )
         {
             updateTime( time );
-            listener.onTimeScroll( time, this );  // this is to notify the parents that we want to switch to manual time mode
-            listener.onScrollUnitChanged( this );
+            dispatchTimeScroll();  // this is to notify the parents that we want to switch to manual time mode
+            dispatchScrollUnitChanged();
         }
+        invalidateItems();
+    }
+
+    void invalidateItems()
+    {
+        if ( metrics != null )
+            metrics.onInvalidate( this );
         postInvalidate();
     }
 
+    private void invalidateItemsOnAnimation()
+    {
+        if ( metrics != null )
+            metrics.onInvalidate( this );
+        postInvalidateOnAnimation();
+    }
+
+    private void dispatchTimeScroll()
+    {
+        final long start = beginDispatch();
+        try
+        {
+            listener.onTimeScroll( time, this );
+        }
+        finally
+        {
+            endDispatch( start );
+        }
+    }
+
+    private void dispatchTimeChanged()
+    {
+        final long start = beginDispatch();
+        try
+        {
+            listener.onTimeChanged( time, this );
+        }
+        finally
+        {
+            endDispatch( start );
+        }
+    }
+
+    private void dispatchScrollUnitChanged()
+    {
+        final long start = beginDispatch();
+        try
+        {
+            listener.onScrollUnitChanged( this );
+        }
+        finally
+        {
+            endDispatch( start );
+        }
+    }
+
+    /**
+     * @return start time to pass to endDispatch, or NOT_TIMED if no metrics are installed
+     */
+    private long beginDispatch()
+    {
+        Trace.beginSection( TRACE_DISPATCH );
+        return metrics != null ? System.nanoTime() : NOT_TIMED;
+    }
+
+    private void endDispatch( long start )
+    {
+        final TimeSliderMetrics metrics = this.metrics;
+        if ( metrics != null && start != NOT_TIMED )
+            metrics.onListenerDispatch( this, System.nanoTime() - start );
+        Trace.endSection();
+    }
+
     private synchronized boolean updateTime( long continuousTime )
     {
+        Trace.beginSection( TRACE_QUANTIZE );
+        try
+        {
+            final boolean timeChanged = quantizeTime( continuousTime );
+            if ( metrics != null )
+                metrics.onUpdateTime( this, timeChanged );
+            return timeChanged;
+        }
+        finally
+        {
+            Trace.endSection();
+        }
+    }
+
+    private long toLocalTime( long time )
+    {
+        return time + timeZone.getOffset( time );
+    }
+
+    private long toUtcTime( long localTime )
+    {
+        return localTime - timeZone.getOffset( localTime - timeZone.getRawOffset() );
+    }
+
+    private boolean quantizeTime( long continuousTime )
+    {
+        if ( longRange )
+        {
+            final long quantized = toUtcTime( longRangeTime.quantize(
+                    toLocalTime( continuousTime ), toLocalTime( time ), timeUnit, timeUnitFactor ) );
+            final boolean timeChanged = quantized != time;
+            time = quantized;
+            calendar.setTimeInMillis( time );
+            return timeChanged;
+        }
         tmpCalendar.setTimeInMillis( continuousTime );
         switch ( timeUnit )
         {
@@ -484,8 +1106,47 @@ public class TimeSlider extends View implements TimeScrollable
     public void computeScroll()
     {
         super.computeScroll();
-        if ( scroller.computeScrollOffset() && updateTime( flingStartTime + (long)( millisPerScrolledPixel * scroller.getCurrX() ) ) )
-            listener.onTimeChanged( time, this );
+        if ( !scroller.computeScrollOffset() )
+            return;
+        if ( settling )
+        {
+            // Settling stays within the current item, so the quantized time does not change.
+            continuousTime = time + (long)( millisPerScrolledPixel * scroller.getCurrX() );
+            invalidateItemsOnAnimation();
+            return;
+        }
+        continuousTime = flingStartTime + (long)( millisPerScrolledPixel * scroller.getCurrX() );
+        if ( updateTime( continuousTime ) )
+        {
+            dispatchTimeChanged();
+            notifyAccessibilityTimeChanged();
+        }
+        if ( smoothScroll )
+        {
+            if ( scroller.isFinished() )
+                startSettle();
+            else
+                invalidateItemsOnAnimation();
+        }
+    }
+
+    /**
+     * In smooth scroll mode, let the label strip glide from the continuous position
+     * back to the quantized time instead of snapping to it.
+     */
+    private void startSettle()
+    {
+        if ( millisPerScrolledPixel == 0 )
+            return;
+        final int offset = (int)Math.round( ( continuousTime - time ) / millisPerScrolledPixel );
+        if ( offset != 0 )
+        {
+            settling = true;
+            scroller.startScroll( offset, 0, -offset, 0, SETTLE_DURATION_MILLIS );
+        }
+        else
+            continuousTime = time;
+        invalidateItemsOnAnimation();
     }
 
     @Override
@@ -496,13 +1157,105 @@ public class TimeSlider extends View implements TimeScrollable
             case MotionEvent.ACTION_DOWN:
                 // Disallow ScrollView to intercept touch events.
                 getParent().requestDisallowInterceptTouchEvent( true );
+                touching = true;
                 break;
             case MotionEvent.ACTION_UP:
                 // Allow ScrollView to intercept touch events.
                 getParent().requestDisallowInterceptTouchEvent( false );
+                touching = false;
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                touching = false;
                 break;
         }
-        return gestureDetector.onTouchEvent( event ) || super.onTouchEvent( event );
+        final boolean handled = gestureDetector.onTouchEvent( event ) || super.onTouchEvent( event );
+        if ( smoothScroll && !touching && scroller.isFinished() )
+            startSettle();  // released without a fling
+        return handled;
+    }
+
+    /**
+     * Holds the API 29 RenderNode of the label strip. Keeping every reference to RenderNode and RecordingCanvas
+     * in this class spares TimeSlider from failing class verification on older platforms.
+     */
+    @RequiresApi( Build.VERSION_CODES.Q )
+    private static final class StripNode
+    {
+        private final RenderNode node = new RenderNode( "TimeSliderStrip" );
+
+        StripNode()
+        {
+            node.setClipToBounds( false );
+        }
+
+        boolean hasDisplayList()
+        {
+            return node.hasDisplayList();
+        }
+
+        Canvas beginRecording( int width, int height )
+        {
+            node.setPosition( 0, 0, width, height );
+            return node.beginRecording();
+        }
+
+        void endRecording()
+        {
+            node.endRecording();
+        }
+
+        void draw( Canvas canvas, float translationX, float translationY )
+        {
+            node.setTranslationX( translationX );
+            node.setTranslationY( translationY );
+            canvas.drawRenderNode( node );
+        }
+
+        void discardDisplayList()
+        {
+            node.discardDisplayList();
+        }
+    }
+
+    static class SavedState extends BaseSavedState
+    {
+        long time;
+        int unitIndex;
+
+        SavedState( Parcelable superState )
+        {
+            super( superState );
+        }
+
+        private SavedState( Parcel in )
+        {
+            super( in );
+            time = in.readLong();
+            unitIndex = in.readInt();
+        }
+
+        @Override
+        public void writeToParcel( Parcel out, int flags )
+        {
+            super.writeToParcel( out, flags );
+            out.writeLong( time );
+            out.writeInt( unitIndex );
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>()
+        {
+            @Override
+            public SavedState createFromParcel( Parcel in )
+            {
+                return new SavedState( in );
+            }
+
+            @Override
+            public SavedState[] newArray( int size )
+            {
+                return new SavedState[size];
+            }
+        };
     }
 
     private class GestureListener extends GestureDetector.SimpleOnGestureListener
@@ -510,11 +1263,15 @@ public class TimeSlider extends View implements TimeScrollable
         @Override
         public boolean onDown( MotionEvent event )
         {
-            continuousTime = time;
+            // Catching a running fling or settle in smooth mode continues from the strip's current offset
+            if ( !smoothScroll || scroller.isFinished() )
+                continuousTime = time;
             tmpCalendar.setTimeInMillis( time );
             scroller.forceFinished( true );
-            postInvalidateOnAnimation();
-            millisPerScrolledPixel = scrollSpeed * convertToMillis( timeUnit ) * timeUnitFactor
+            settling = false;
+            invalidateItemsOnAnimation();
+            final long unitMillis = longRange ? LongRangeTime.averageMillis( timeUnit ) : convertToMillis( timeUnit );
+            millisPerScrolledPixel = (double)scrollSpeed * unitMillis * timeUnitFactor
                     / ( isHorizontal() ? minItemWidth : minItemHeight );
             return true;
         }
@@ -522,7 +1279,7 @@ public class TimeSlider extends View implements TimeScrollable
         @Override
         public boolean onSingleTapConfirmed( MotionEvent event )
         {
-            listener.onScrollUnitChanged( TimeSlider.this );
+            dispatchScrollUnitChanged();
             return true;
         }
 
@@ -554,16 +1311,20 @@ public class TimeSlider extends View implements TimeScrollable
             }
             if ( updateTime( continuousTime ) )
             {
-                listener.onTimeScroll( time, TimeSlider.this );
-                postInvalidateOnAnimation();
+                dispatchTimeScroll();
+                invalidateItemsOnAnimation();
+                notifyAccessibilityTimeChanged();
             }
+            else if ( smoothScroll )
+                invalidateItemsOnAnimation();
             return true;
         }
 
         @Override
         public boolean onFling( MotionEvent e1, MotionEvent e2, float velocityX, float velocityY )
         {
-            flingStartTime = time;
+            flingStartTime = smoothScroll ? continuousTime : time;
+            settling = false;
             int velocity = 0;
             switch ( orientation )
             {
@@ -581,7 +1342,7 @@ public class TimeSlider extends View implements TimeScrollable
                     break;
             }
             scroller.fling( 0, 0, velocity, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 0 );
-            postInvalidateOnAnimation();
+            invalidateItemsOnAnimation();
             return true;
         }
     }
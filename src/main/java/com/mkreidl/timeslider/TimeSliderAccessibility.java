@@ -0,0 +1,176 @@
+package com.mkreidl.timeslider;
+
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+/**
+ * Exposes the visible items of a {@link TimeSlider} as virtual views. Node infos are obtained from
+ * the framework pool and recycled by it; their texts come from the slider's label cache, which is
+ * only refreshed when the quantized visible window changes. Bounds and locations are computed
+ * into reused objects.
+ */
+class TimeSliderAccessibility extends AccessibilityNodeProvider
+{
+    private static final int NO_ITEM = Integer.MIN_VALUE;
+
+    private final TimeSlider slider;
+    private final Rect bounds = new Rect();
+    private final int[] location = new int[2];
+    private int focusedItem = NO_ITEM;
+    private int hoveredItem = NO_ITEM;
+
+    TimeSliderAccessibility( TimeSlider slider )
+    {
+        this.slider = slider;
+    }
+
+    @Override
+    public AccessibilityNodeInfo createAccessibilityNodeInfo( int virtualViewId )
+    {
+        final String[] labels = slider.getItemLabels();
+        if ( virtualViewId == View.NO_ID )
+        {
+            final AccessibilityNodeInfo info = AccessibilityNodeInfo.obtain( slider );
+            slider.onInitializeAccessibilityNodeInfo( info );
+            for ( int i = 0; i < labels.length; i++ )
+                info.addChild( slider, i );
+            info.setScrollable( true );
+            info.setContentDescription( labels[slider.getSelectedItemIndex()] );
+            info.addAction( AccessibilityNodeInfo.AccessibilityAction.ACTION_SCROLL_FORWARD );
+            info.addAction( AccessibilityNodeInfo.AccessibilityAction.ACTION_SCROLL_BACKWARD );
+            return info;
+        }
+        if ( virtualViewId < 0 || virtualViewId >= labels.length )
+            return null;
+
+        final AccessibilityNodeInfo info = AccessibilityNodeInfo.obtain( slider, virtualViewId );
+        info.setParent( slider );
+        info.setPackageName( slider.getContext().getPackageName() );
+        info.setClassName( TimeSlider.class.getName() );
+        info.setText( labels[virtualViewId] );
+        info.setEnabled( slider.isEnabled() );
+        info.setSelected( virtualViewId == slider.getSelectedItemIndex() );
+        info.setVisibleToUser( true );
+
+        slider.getItemBounds( virtualViewId, bounds );
+        setBoundsInParent( info, bounds );
+        slider.getLocationOnScreen( location );
+        bounds.offset( location[0], location[1] );
+        info.setBoundsInScreen( bounds );
+
+        info.setClickable( true );
+        info.addAction( AccessibilityNodeInfo.AccessibilityAction.ACTION_CLICK );
+        info.addAction( focusedItem == virtualViewId ?
+                AccessibilityNodeInfo.AccessibilityAction.ACTION_CLEAR_ACCESSIBILITY_FOCUS :
+                AccessibilityNodeInfo.AccessibilityAction.ACTION_ACCESSIBILITY_FOCUS );
+        info.setAccessibilityFocused( focusedItem == virtualViewId );
+        return info;
+    }
+
+    // Deprecated since API 29 in favour of the screen bounds, but still read by older accessibility services
+    @SuppressWarnings( "deprecation" )
+    private static void setBoundsInParent( AccessibilityNodeInfo info, Rect bounds )
+    {
+        info.setBoundsInParent( bounds );
+    }
+
+    @Override
+    public boolean performAction( int virtualViewId, int action, Bundle arguments )
+    {
+        if ( virtualViewId == View.NO_ID )
+            switch ( action )
+            {
+                case AccessibilityNodeInfo.ACTION_SCROLL_FORWARD:
+                    slider.stepTimeUnits( 1 );
+                    return true;
+                case AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD:
+                    slider.stepTimeUnits( -1 );
+                    return true;
+                default:
+                    return slider.performAccessibilityAction( action, arguments );
+            }
+
+        switch ( action )
+        {
+            case AccessibilityNodeInfo.ACTION_CLICK:
+                slider.stepTimeUnits( virtualViewId - slider.getSelectedItemIndex() );
+                return true;
+            case AccessibilityNodeInfo.ACTION_ACCESSIBILITY_FOCUS:
+                if ( focusedItem == virtualViewId )
+                    return false;
+                if ( focusedItem != NO_ITEM )
+                {
+                    // Only one item holds accessibility focus: clear it from the previous one first
+                    final int previous = focusedItem;
+                    focusedItem = NO_ITEM;
+                    sendEventForItem( previous, AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUS_CLEARED );
+                }
+                focusedItem = virtualViewId;
+                slider.invalidate();
+                sendEventForItem( virtualViewId, AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUSED );
+                return true;
+            case AccessibilityNodeInfo.ACTION_CLEAR_ACCESSIBILITY_FOCUS:
+                if ( focusedItem != virtualViewId )
+                    return false;
+                focusedItem = NO_ITEM;
+                slider.invalidate();
+                sendEventForItem( virtualViewId, AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUS_CLEARED );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Route touch exploration to the item under the pointer.
+     */
+    boolean onHoverEvent( MotionEvent event )
+    {
+        switch ( event.getAction() )
+        {
+            case MotionEvent.ACTION_HOVER_ENTER:
+            case MotionEvent.ACTION_HOVER_MOVE:
+                setHoveredItem( slider.getItemIndexAt( event.getX(), event.getY() ) );
+                return hoveredItem != NO_ITEM;
+            case MotionEvent.ACTION_HOVER_EXIT:
+                setHoveredItem( NO_ITEM );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void setHoveredItem( int item )
+    {
+        if ( item < 0 )
+            item = NO_ITEM;
+        if ( item == hoveredItem )
+            return;
+        final int previous = hoveredItem;
+        hoveredItem = item;
+        if ( item != NO_ITEM )
+            sendEventForItem( item, AccessibilityEvent.TYPE_VIEW_HOVER_ENTER );
+        if ( previous != NO_ITEM )
+            sendEventForItem( previous, AccessibilityEvent.TYPE_VIEW_HOVER_EXIT );
+    }
+
+    private void sendEventForItem( int virtualViewId, int eventType )
+    {
+        final ViewParent parent = slider.getParent();
+        if ( parent == null )
+            return;
+        final AccessibilityEvent event = AccessibilityEvent.obtain( eventType );
+        event.setPackageName( slider.getContext().getPackageName() );
+        event.setClassName( TimeSlider.class.getName() );
+        event.setSource( slider, virtualViewId );
+        event.setEnabled( slider.isEnabled() );
+        event.getText().add( slider.getItemLabels()[virtualViewId] );
+        parent.requestSendAccessibilityEvent( slider, event );
+    }
+}
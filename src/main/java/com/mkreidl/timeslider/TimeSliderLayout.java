@@ -1,9 +1,13 @@
 package com.mkreidl.timeslider;
 
 import android.content.Context;
+import android.os.Parcel;
+import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.View;
 import android.widget.LinearLayout;
 
 import java.util.ArrayList;
@@ -38,6 +42,8 @@ public class TimeSliderLayout extends LinearLayout
         {
         }
     };
+    @Nullable
+    private TimeSliderMetrics metrics;  // null when instrumentation is disabled
 
     public TimeSliderLayout( Context context )
     {
@@ -62,9 +68,146 @@ public class TimeSliderLayout extends LinearLayout
                 subSlider.setOnTimeScrollListener( this );
                 subSlider.setTimeZone( timeZone );
                 subSlider.setLocale( locale );
+                if ( metrics != null )
+                    setSubSliderMetrics( subSlider, metrics );
             }
     }
 
+    /**
+     * Install a metrics sink for this layout and all of its sub sliders,
+     * or pass null to disable instrumentation at no cost.
+     */
+    public void setMetrics( @Nullable TimeSliderMetrics metrics )
+    {
+        this.metrics = metrics;
+        for ( TimeScrollable subSlider : subSliders )
+            setSubSliderMetrics( subSlider, metrics );
+    }
+
+    @Nullable
+    public TimeSliderMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    private static void setSubSliderMetrics( TimeScrollable subSlider, @Nullable TimeSliderMetrics metrics )
+    {
+        if ( subSlider instanceof TimeSlider )
+            ( (TimeSlider)subSlider ).setMetrics( metrics );
+        else if ( subSlider instanceof TimeSliderLayout )
+            ( (TimeSliderLayout)subSlider ).setMetrics( metrics );
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState()
+    {
+        final SavedState state = new SavedState( super.onSaveInstanceState() );
+        final List<TimeScrollable> leaves = new ArrayList<>();
+        final List<TimeSliderLayout> layouts = new ArrayList<>();
+        collectSubSliders( leaves, layouts );
+        state.time = time;
+        state.unitIndices = new int[leaves.size()];
+        for ( int i = 0; i < leaves.size(); ++i )
+            state.unitIndices[i] = leaves.get( i ) instanceof TimeSlider ?
+                    ( (TimeSlider)leaves.get( i ) ).getTimeUnitIndex() : -1;
+        state.activeIndices = new int[layouts.size()];
+        for ( int i = 0; i < layouts.size(); ++i )
+            state.activeIndices[i] = leaves.indexOf( layouts.get( i ).activeScrollable );
+        return state;
+    }
+
+    /**
+     * Collect the sub sliders below this layout in depth-first order, with nested layouts replaced by their
+     * own sub sliders, together with this and all nested layouts in pre-order. Active sub sliders are always
+     * leaves, since nested layouts report the sub slider that was actually scrolled as source.
+     */
+    private void collectSubSliders( List<TimeScrollable> leaves, List<TimeSliderLayout> layouts )
+    {
+        layouts.add( this );
+        for ( TimeScrollable subSlider : subSliders )
+            if ( subSlider instanceof TimeSliderLayout )
+                ( (TimeSliderLayout)subSlider ).collectSubSliders( leaves, layouts );
+            else
+                leaves.add( subSlider );
+    }
+
+    @Override
+    protected void onRestoreInstanceState( Parcelable state )
+    {
+        if ( !( state instanceof SavedState ) )
+        {
+            super.onRestoreInstanceState( state );
+            return;
+        }
+        final SavedState savedState = (SavedState)state;
+        super.onRestoreInstanceState( savedState.getSuperState() );
+        final List<TimeScrollable> leaves = new ArrayList<>();
+        final List<TimeSliderLayout> layouts = new ArrayList<>();
+        collectSubSliders( leaves, layouts );
+
+        // Apply time and unit indices to all sub sliders, invalidating each slider once and notifying no listeners
+        for ( int i = 0; i < leaves.size(); ++i )
+            if ( leaves.get( i ) instanceof TimeSlider )
+            {
+                final TimeSlider slider = (TimeSlider)leaves.get( i );
+                slider.restoreState( savedState.time, i < savedState.unitIndices.length ? savedState.unitIndices[i] : -1 );
+                slider.invalidateItems();
+            }
+            else
+                leaves.get( i ).setTime( savedState.time );
+        for ( int i = 0; i < layouts.size(); ++i )
+        {
+            final int activeIndex = i < savedState.activeIndices.length ? savedState.activeIndices[i] : -1;
+            layouts.get( i ).time = savedState.time;
+            layouts.get( i ).activeScrollable = activeIndex >= 0 && activeIndex < leaves.size() ?
+                    leaves.get( activeIndex ) : null;
+        }
+    }
+
+    // TimeSliders and nested TimeSliderLayouts are restored from our own SavedState, so they are not
+    // saved and restored per child. All other children, including those of nested layouts, keep their own state.
+    // Without an ID our own state is not frozen, so then every child is dispatched to like in any ViewGroup
+    // and sub sliders with an ID restore themselves, while the time and active sub slider of the layout are lost.
+    @Override
+    protected void dispatchSaveInstanceState( SparseArray<Parcelable> container )
+    {
+        dispatchFreezeSelfOnly( container );
+        dispatchToChildren( container, true, savesOwnState() );
+    }
+
+    @Override
+    protected void dispatchRestoreInstanceState( SparseArray<Parcelable> container )
+    {
+        dispatchThawSelfOnly( container );
+        dispatchToChildren( container, false, savesOwnState() );
+    }
+
+    private boolean savesOwnState()
+    {
+        return getId() != NO_ID && isSaveEnabled();
+    }
+
+    /**
+     * @param managedSaved whether the sub sliders are covered by the SavedState of this or an enclosing layout
+     */
+    private void dispatchToChildren( SparseArray<Parcelable> container, boolean save, boolean managedSaved )
+    {
+        for ( int i = 0; i < getChildCount(); ++i )
+        {
+            final View child = getChildAt( i );
+            final boolean managed = managedSaved && subSliders.contains( child );
+            if ( managed && child instanceof TimeSliderLayout )
+                ( (TimeSliderLayout)child ).dispatchToChildren( container, save, true );
+            else if ( !( managed && child instanceof TimeSlider ) && child.isSaveFromParentEnabled() )
+            {
+                if ( save )
+                    child.saveHierarchyState( container );
+                else
+                    child.restoreHierarchyState( container );
+            }
+        }
+    }
+
     @Override
     public void onTimeScroll( long time, @Nullable TimeScrollable source )
     {
@@ -83,9 +226,15 @@ public class TimeSliderLayout extends LinearLayout
     {
         this.time = time;
         activeScrollable = source;
+        int fanOut = 0;
         for ( TimeScrollable subSlider : subSliders )
             if ( subSlider != activeScrollable )
+            {
                 subSlider.setTime( time );
+                ++fanOut;
+            }
+        if ( metrics != null )
+            metrics.onSetTimeFanOut( this, fanOut );
     }
 
     @Override
@@ -107,6 +256,8 @@ public class TimeSliderLayout extends LinearLayout
         this.time = time;
         for ( TimeScrollable subSlider : subSliders )
             subSlider.setTime( time );
+        if ( metrics != null )
+            metrics.onSetTimeFanOut( this, subSliders.size() );
     }
 
     @Override
@@ -156,4 +307,48 @@ public class TimeSliderLayout extends LinearLayout
         if ( activeScrollable != null )
             activeScrollable.resetScrolling();
     }
+
+    static class SavedState extends BaseSavedState
+    {
+        long time;
+        int[] unitIndices;
+        int[] activeIndices;
+
+        SavedState( Parcelable superState )
+        {
+            super( superState );
+        }
+
+        private SavedState( Parcel in )
+        {
+            super( in );
+            time = in.readLong();
+            unitIndices = in.createIntArray();
+            activeIndices = in.createIntArray();
+        }
+
+        @Override
+        public void writeToParcel( Parcel out, int flags )
+        {
+            super.writeToParcel( out, flags );
+            out.writeLong( time );
+            out.writeIntArray( unitIndices );
+            out.writeIntArray( activeIndices );
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>()
+        {
+            @Override
+            public SavedState createFromParcel( Parcel in )
+            {
+                return new SavedState( in );
+            }
+
+            @Override
+            public SavedState[] newArray( int size )
+            {
+                return new SavedState[size];
+            }
+        };
+    }
 }
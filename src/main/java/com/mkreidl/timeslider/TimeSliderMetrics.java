@@ -0,0 +1,38 @@
+package com.mkreidl.timeslider;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Opt-in performance instrumentation for {@link TimeSlider} and {@link TimeSliderLayout}.
+ * When no metrics object is installed, the views skip all timing; android.os.Trace sections
+ * for draw, quantize and dispatch are emitted either way.
+ * Callbacks may arrive on any thread that drives the views and must not block.
+ */
+public interface TimeSliderMetrics
+{
+    /**
+     * @param durationNanos   wall time spent in onDraw
+     * @param labelsFormatted number of labels formatted for this frame
+     */
+    void onDraw( @NonNull TimeScrollable source, long durationNanos, int labelsFormatted );
+
+    /**
+     * @param timeChanged whether quantizing the continuous time actually changed the displayed time
+     */
+    void onUpdateTime( @NonNull TimeScrollable source, boolean timeChanged );
+
+    /**
+     * Called whenever the view requests a redraw, e.g. after a time change or once per fling frame in smooth scroll mode.
+     */
+    void onInvalidate( @NonNull TimeScrollable source );
+
+    /**
+     * @param latencyNanos time spent inside the OnTimeScrollListener callback
+     */
+    void onListenerDispatch( @NonNull TimeScrollable source, long latencyNanos );
+
+    /**
+     * @param childCount number of sub sliders that received setTime for a single time change
+     */
+    void onSetTimeFanOut( @NonNull TimeScrollable source, int childCount );
+}
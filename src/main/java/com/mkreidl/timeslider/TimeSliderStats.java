@@ -0,0 +1,153 @@
+package com.mkreidl.timeslider;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Default {@link TimeSliderMetrics} implementation aggregating counters and an onDraw duration
+ * histogram. Install one instance per slider to get per-slider numbers, or share one instance
+ * to aggregate over a whole {@link TimeSliderLayout}. All counters are striped, never synchronized.
+ */
+public class TimeSliderStats implements TimeSliderMetrics
+{
+    /**
+     * Bucket i of the draw histogram counts frames with a duration in [2^(i-1), 2^i) microseconds,
+     * bucket 0 counts frames below one microsecond, the last bucket collects everything above.
+     */
+    public static final int DRAW_HISTOGRAM_BUCKETS = 20;
+
+    private final StripedCounter[] drawHistogram = new StripedCounter[DRAW_HISTOGRAM_BUCKETS];
+    private final StripedCounter drawCount = new StripedCounter();
+    private final StripedCounter drawNanos = new StripedCounter();
+    private final StripedCounter labelsFormatted = new StripedCounter();
+    private final StripedCounter updateTimeCalls = new StripedCounter();
+    private final StripedCounter updateTimeChanges = new StripedCounter();
+    private final StripedCounter invalidations = new StripedCounter();
+    private final StripedCounter dispatchCount = new StripedCounter();
+    private final StripedCounter dispatchNanos = new StripedCounter();
+    private final StripedCounter setTimeFanOutEvents = new StripedCounter();
+    private final StripedCounter setTimeFanOutChildren = new StripedCounter();
+
+    public TimeSliderStats()
+    {
+        for ( int i = 0; i < DRAW_HISTOGRAM_BUCKETS; i++ )
+            drawHistogram[i] = new StripedCounter();
+    }
+
+    private static int bucketOf( long durationNanos )
+    {
+        final long micros = durationNanos / 1000;
+        final int bucket = 64 - Long.numberOfLeadingZeros( micros );
+        return Math.min( bucket, DRAW_HISTOGRAM_BUCKETS - 1 );
+    }
+
+    @Override
+    public void onDraw( @NonNull TimeScrollable source, long durationNanos, int labelsFormatted )
+    {
+        drawHistogram[bucketOf( durationNanos )].increment();
+        drawCount.increment();
+        drawNanos.add( durationNanos );
+        this.labelsFormatted.add( labelsFormatted );
+    }
+
+    @Override
+    public void onUpdateTime( @NonNull TimeScrollable source, boolean timeChanged )
+    {
+        updateTimeCalls.increment();
+        if ( timeChanged )
+            updateTimeChanges.increment();
+    }
+
+    @Override
+    public void onInvalidate( @NonNull TimeScrollable source )
+    {
+        invalidations.increment();
+    }
+
+    @Override
+    public void onListenerDispatch( @NonNull TimeScrollable source, long latencyNanos )
+    {
+        dispatchCount.increment();
+        dispatchNanos.add( latencyNanos );
+    }
+
+    @Override
+    public void onSetTimeFanOut( @NonNull TimeScrollable source, int childCount )
+    {
+        setTimeFanOutEvents.increment();
+        setTimeFanOutChildren.add( childCount );
+    }
+
+    public long[] getDrawHistogram()
+    {
+        final long[] histogram = new long[DRAW_HISTOGRAM_BUCKETS];
+        for ( int i = 0; i < DRAW_HISTOGRAM_BUCKETS; i++ )
+            histogram[i] = drawHistogram[i].sum();
+        return histogram;
+    }
+
+    public long getDrawCount()
+    {
+        return drawCount.sum();
+    }
+
+    public long getDrawNanos()
+    {
+        return drawNanos.sum();
+    }
+
+    public long getLabelsFormatted()
+    {
+        return labelsFormatted.sum();
+    }
+
+    public long getUpdateTimeCalls()
+    {
+        return updateTimeCalls.sum();
+    }
+
+    public long getUpdateTimeChanges()
+    {
+        return updateTimeChanges.sum();
+    }
+
+    public long getInvalidations()
+    {
+        return invalidations.sum();
+    }
+
+    public long getListenerDispatchCount()
+    {
+        return dispatchCount.sum();
+    }
+
+    public long getListenerDispatchNanos()
+    {
+        return dispatchNanos.sum();
+    }
+
+    public long getSetTimeFanOutEvents()
+    {
+        return setTimeFanOutEvents.sum();
+    }
+
+    public long getSetTimeFanOutChildren()
+    {
+        return setTimeFanOutChildren.sum();
+    }
+
+    public void reset()
+    {
+        for ( StripedCounter counter : drawHistogram )
+            counter.reset();
+        drawCount.reset();
+        drawNanos.reset();
+        labelsFormatted.reset();
+        updateTimeCalls.reset();
+        updateTimeChanges.reset();
+        invalidations.reset();
+        dispatchCount.reset();
+        dispatchNanos.reset();
+        setTimeFanOutEvents.reset();
+        setTimeFanOutChildren.reset();
+    }
+}
@@ -0,0 +1,372 @@
+package com.mkreidl.timeslider;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.Scroller;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.robolectric.annotation.Implements;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Headless driver replaying MotionEvent streams through {@link TimeSlider#onTouchEvent}
+ * and advancing fling animations frame by frame through {@link TimeSlider#computeScroll}.
+ * It counts quantizations, listener callbacks, invalidations and allocations of the
+ * touch -> time -> listener pipeline.
+ * <p>
+ * Requires Robolectric with a paused main looper: the fake clock is advanced by idling the looper,
+ * so the Scroller animation time and the GestureDetector tap timeouts advance together and all
+ * counters except the allocated bytes are reproducible run to run. Tests must also install
+ * {@link RealScroller}, as the default Robolectric shadow of Scroller does not animate flings.
+ */
+class GestureReplay
+{
+    static final long FRAME_MILLIS = 16;
+    static final int WIDTH = 450;
+    static final int HEIGHT = 300;
+    private static final int MAX_SETTLE_FRAMES = 1000;
+    private static final int VELOCITY_TRACKER_POOL_SIZE = 2;
+
+    private final TimeSlider slider;
+    private final TimeScrollable root;
+    private final TimeSliderStats stats = new TimeSliderStats();
+    private final CountingListener listener = new CountingListener();
+    private final int itemSize;
+    private long downTime;
+    private int frames;
+    private long startBytes;
+
+    /**
+     * @param slider   the slider receiving touch events, with the default vertical orientation
+     * @param layout   the layout containing the slider, or null to drive a standalone slider
+     * @param itemSize item height of the slider in pixels
+     */
+    GestureReplay( @NonNull TimeSlider slider, @Nullable TimeSliderLayout layout, int itemSize )
+    {
+        this.slider = slider;
+        this.itemSize = itemSize;
+        if ( layout != null )
+        {
+            root = layout;
+            layout.setMetrics( stats );
+        }
+        else
+        {
+            root = slider;
+            slider.setMetrics( stats );
+        }
+        root.setOnTimeScrollListener( listener );
+        reset();
+    }
+
+    /**
+     * Host a standalone slider in a laid out parent, as onTouchEvent needs one.
+     */
+    @NonNull
+    static TimeSlider createSlider( @NonNull Context context )
+    {
+        final FrameLayout parent = new FrameLayout( context );
+        final TimeSlider slider = new TimeSlider( context );
+        parent.addView( slider );
+        slider.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+        slider.setLocale( Locale.US );
+        slider.setTime( 0 );
+        layout( parent );
+        return slider;
+    }
+
+    /**
+     * Build and lay out a layout of three sliders sharing the same time units,
+     * so double taps cycle through them.
+     */
+    @NonNull
+    static TimeSliderLayout createThreeSliderLayout( @NonNull Context context )
+    {
+        final TimeSliderLayout layout = new TimeSliderLayout( context );
+        for ( int i = 0; i < 3; i++ )
+            layout.addView( new TimeSlider( context ) );
+        layout.onFinishInflate();
+        layout.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+        layout.setLocale( Locale.US );
+        layout.setTime( 0 );
+        layout( layout );
+        return layout;
+    }
+
+    private static void layout( View view )
+    {
+        view.measure( View.MeasureSpec.makeMeasureSpec( WIDTH, View.MeasureSpec.EXACTLY ),
+                View.MeasureSpec.makeMeasureSpec( HEIGHT, View.MeasureSpec.EXACTLY ) );
+        view.layout( 0, 0, WIDTH, HEIGHT );
+    }
+
+    void reset()
+    {
+        stats.reset();
+        listener.reset();
+        frames = 0;
+        startBytes = allocatedBytes();
+    }
+
+    void advance( long millis )
+    {
+        shadowOf( Looper.getMainLooper() ).idleFor( millis, TimeUnit.MILLISECONDS );
+    }
+
+    void down( float x, float y )
+    {
+        drainVelocityTrackerPool();
+        downTime = SystemClock.uptimeMillis();
+        dispatch( MotionEvent.ACTION_DOWN, x, y );
+    }
+
+    void moveTo( float x, float y )
+    {
+        dispatch( MotionEvent.ACTION_MOVE, x, y );
+    }
+
+    void up( float x, float y )
+    {
+        dispatch( MotionEvent.ACTION_UP, x, y );
+    }
+
+    /**
+     * Replay a recorded event stream. The clock is advanced to each event's time before
+     * it is dispatched; the events are not recycled.
+     */
+    void replay( @NonNull MotionEvent[] events )
+    {
+        for ( MotionEvent event : events )
+        {
+            final long delay = event.getEventTime() - SystemClock.uptimeMillis();
+            if ( delay > 0 )
+                advance( delay );
+            if ( event.getActionMasked() == MotionEvent.ACTION_DOWN )
+                drainVelocityTrackerPool();
+            slider.onTouchEvent( event );
+        }
+    }
+
+    /**
+     * Advance the clock by one frame and let the slider compute its scroll position.
+     */
+    void frame()
+    {
+        advance( FRAME_MILLIS );
+        slider.computeScroll();
+        ++frames;
+    }
+
+    /**
+     * Run frames until a running fling has come to rest, i.e. until a frame no longer quantizes the time.
+     */
+    void settle()
+    {
+        for ( int i = 0; i < MAX_SETTLE_FRAMES; i++ )
+        {
+            final long updates = stats.getUpdateTimeCalls();
+            frame();
+            if ( stats.getUpdateTimeCalls() == updates )
+                break;
+        }
+    }
+
+    /**
+     * Drag slowly by one item per second over the given number of items.
+     */
+    @NonNull
+    Result slowDrag( int items )
+    {
+        reset();
+        return drag( items, 1000 );
+    }
+
+    /**
+     * Swipe over the given number of items within about 50 ms, release and let the fling settle.
+     */
+    @NonNull
+    Result hardFling( int items )
+    {
+        reset();
+        return drag( items, Math.max( 1, 50 / Math.max( 1, items ) ) );
+    }
+
+    /**
+     * Double tap the slider the given number of times, letting the tap timeouts pass in between.
+     */
+    @NonNull
+    Result doubleTapCycle( int doubleTaps )
+    {
+        reset();
+        final float x = slider.getWidth() / 2f;
+        final float y = slider.getHeight() / 2f;
+        for ( int i = 0; i < doubleTaps; i++ )
+        {
+            down( x, y );
+            advance( 50 );
+            up( x, y );
+            advance( 100 );
+            down( x, y );
+            advance( 50 );
+            up( x, y );
+            advance( 500 );
+        }
+        return snapshot();
+    }
+
+    private Result drag( int items, long millisPerItem )
+    {
+        final long stepsPerItem = Math.max( 1, millisPerItem / FRAME_MILLIS );
+        final float step = (float)itemSize / stepsPerItem;
+        final float x = slider.getWidth() / 2f;
+        float y = slider.getHeight() / 2f;
+        down( x, y );
+        for ( int i = 0; i < items * stepsPerItem; i++ )
+        {
+            advance( Math.min( FRAME_MILLIS, millisPerItem ) );
+            y -= step;
+            moveTo( x, y );
+        }
+        up( x, y );
+        settle();
+        return snapshot();
+    }
+
+    /**
+     * Robolectric's VelocityTracker shadow does not forget the movements of earlier gestures when it is
+     * recycled, so a pooled tracker would skew the fling velocity. Emptying the pool before each gesture
+     * makes the GestureDetector obtain a fresh one.
+     */
+    private static void drainVelocityTrackerPool()
+    {
+        for ( int i = 0; i < VELOCITY_TRACKER_POOL_SIZE; i++ )
+            VelocityTracker.obtain();
+    }
+
+    // Events are deliberately not recycled: Robolectric's VelocityTracker keeps references to them.
+    private void dispatch( int action, float x, float y )
+    {
+        slider.onTouchEvent( MotionEvent.obtain( downTime, SystemClock.uptimeMillis(), action, x, y, 0 ) );
+    }
+
+    /**
+     * @return all counters accumulated since the last reset, which every scenario performs first
+     */
+    @NonNull
+    Result snapshot()
+    {
+        final long endBytes = allocatedBytes();
+        return new Result(
+                stats.getUpdateTimeCalls(),
+                stats.getUpdateTimeChanges(),
+                listener.timeScrollCount,
+                listener.timeChangedCount,
+                listener.scrollUnitChangedCount,
+                stats.getInvalidations(),
+                frames,
+                startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes,
+                root.getTime() );
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 if the VM does not support measuring it.
+     */
+    private static long allocatedBytes()
+    {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if ( !( threadMXBean instanceof com.sun.management.ThreadMXBean ) )
+            return -1;
+        return ( (com.sun.management.ThreadMXBean)threadMXBean ).getThreadAllocatedBytes( Thread.currentThread().getId() );
+    }
+
+    /**
+     * Replaces Robolectric's ShadowScroller, so the framework's fling physics run unchanged.
+     */
+    @Implements( Scroller.class )
+    public static class RealScroller
+    {
+    }
+
+    static final class Result
+    {
+        final long updateTimeCalls;
+        final long updateTimeChanges;
+        final long timeScrollCallbacks;
+        final long timeChangedCallbacks;
+        final long scrollUnitChangedCallbacks;
+        final long invalidations;
+        final long frames;
+        final long allocatedBytes;  // -1 if not supported by the VM, not reproducible
+        final long finalTime;
+
+        Result( long updateTimeCalls, long updateTimeChanges, long timeScrollCallbacks,
+                long timeChangedCallbacks, long scrollUnitChangedCallbacks, long invalidations,
+                long frames, long allocatedBytes, long finalTime )
+        {
+            this.updateTimeCalls = updateTimeCalls;
+            this.updateTimeChanges = updateTimeChanges;
+            this.timeScrollCallbacks = timeScrollCallbacks;
+            this.timeChangedCallbacks = timeChangedCallbacks;
+            this.scrollUnitChangedCallbacks = scrollUnitChangedCallbacks;
+            this.invalidations = invalidations;
+            this.frames = frames;
+            this.allocatedBytes = allocatedBytes;
+            this.finalTime = finalTime;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format( Locale.US,
+                    "updateTime=%d (changed %d), onTimeScroll=%d, onTimeChanged=%d, onScrollUnitChanged=%d, "
+                            + "invalidations=%d, frames=%d, allocatedBytes=%d, time=%d",
+                    updateTimeCalls, updateTimeChanges, timeScrollCallbacks, timeChangedCallbacks,
+                    scrollUnitChangedCallbacks, invalidations, frames, allocatedBytes, finalTime );
+        }
+    }
+
+    private static class CountingListener implements TimeScrollable.OnTimeScrollListener
+    {
+        private long timeScrollCount;
+        private long timeChangedCount;
+        private long scrollUnitChangedCount;
+
+        @Override
+        public void onTimeScroll( long time, @Nullable TimeScrollable source )
+        {
+            ++timeScrollCount;
+        }
+
+        @Override
+        public void onTimeChanged( long time, @Nullable TimeScrollable source )
+        {
+            ++timeChangedCount;
+        }
+
+        @Override
+        public void onScrollUnitChanged( @Nullable TimeScrollable source )
+        {
+            ++scrollUnitChangedCount;
+        }
+
+        void reset()
+        {
+            timeScrollCount = 0;
+            timeChangedCount = 0;
+            scrollUnitChangedCount = 0;
+        }
+    }
+}
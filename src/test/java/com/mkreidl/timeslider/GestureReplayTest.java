@@ -0,0 +1,111 @@
+package com.mkreidl.timeslider;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith( RobolectricTestRunner.class )
+@Config( sdk = 28, shadows = GestureReplay.RealScroller.class )
+@LooperMode( LooperMode.Mode.PAUSED )
+public class GestureReplayTest
+{
+    private static final int ITEM_SIZE = GestureReplay.HEIGHT / 5;
+
+    private static GestureReplay standalone()
+    {
+        return new GestureReplay( GestureReplay.createSlider( RuntimeEnvironment.getApplication() ), null, ITEM_SIZE );
+    }
+
+    @Test
+    public void slowDrag()
+    {
+        final GestureReplay.Result result = standalone().slowDrag( 3 );
+        assertEquals( 171, result.updateTimeCalls );
+        assertEquals( 2, result.updateTimeChanges );
+        assertEquals( 87, result.timeScrollCallbacks );
+        assertEquals( 0, result.timeChangedCallbacks );
+        assertEquals( 85, result.scrollUnitChangedCallbacks );
+        assertEquals( 89, result.invalidations );
+        assertEquals( 2000, result.finalTime );
+    }
+
+    @Test
+    public void hardFling()
+    {
+        final GestureReplay.Result result = standalone().hardFling( 10 );
+        assertEquals( 114, result.updateTimeCalls );
+        assertEquals( 45, result.updateTimeChanges );
+        assertEquals( 20, result.timeScrollCallbacks );
+        assertEquals( 35, result.timeChangedCallbacks );
+        assertEquals( 10, result.scrollUnitChangedCallbacks );
+        assertEquals( 22, result.invalidations );
+        assertEquals( 95, result.frames );
+        assertEquals( 45000, result.finalTime );
+    }
+
+    @Test
+    public void doubleTapCycle()
+    {
+        final TimeSliderLayout layout = GestureReplay.createThreeSliderLayout( RuntimeEnvironment.getApplication() );
+        final GestureReplay replay = new GestureReplay( (TimeSlider)layout.getChildAt( 1 ), layout, ITEM_SIZE );
+        final GestureReplay.Result result = replay.doubleTapCycle( 3 );
+        assertEquals( 3, result.updateTimeCalls );
+        assertEquals( 0, result.updateTimeChanges );
+        assertEquals( 3, result.timeScrollCallbacks );
+        assertEquals( 0, result.timeChangedCallbacks );
+        assertEquals( 3, result.scrollUnitChangedCallbacks );
+        assertEquals( 15, result.invalidations );
+        assertEquals( 0, result.frames );
+        assertEquals( 0, result.finalTime );
+    }
+
+    @Test
+    public void replayRecordedDrag()
+    {
+        final GestureReplay replay = standalone();
+        final long t = SystemClock.uptimeMillis();
+        final float x = GestureReplay.WIDTH / 2f;
+        final float y = GestureReplay.HEIGHT / 2f;
+        // Drag up by two items, then hold still before lifting, so that no fling follows
+        final MotionEvent[] events = {
+                MotionEvent.obtain( t, t, MotionEvent.ACTION_DOWN, x, y, 0 ),
+                MotionEvent.obtain( t, t + 100, MotionEvent.ACTION_MOVE, x, y - ITEM_SIZE / 2, 0 ),
+                MotionEvent.obtain( t, t + 200, MotionEvent.ACTION_MOVE, x, y - ITEM_SIZE, 0 ),
+                MotionEvent.obtain( t, t + 300, MotionEvent.ACTION_MOVE, x, y - 3 * ITEM_SIZE / 2, 0 ),
+                MotionEvent.obtain( t, t + 400, MotionEvent.ACTION_MOVE, x, y - 2 * ITEM_SIZE, 0 ),
+                MotionEvent.obtain( t, t + 600, MotionEvent.ACTION_MOVE, x, y - 2 * ITEM_SIZE, 0 ),
+                MotionEvent.obtain( t, t + 700, MotionEvent.ACTION_UP, x, y - 2 * ITEM_SIZE, 0 ),
+        };
+        replay.replay( events );
+        replay.settle();
+        final GestureReplay.Result result = replay.snapshot();
+        assertEquals( 8, result.updateTimeCalls );
+        assertEquals( 2, result.updateTimeChanges );
+        assertEquals( 6, result.timeScrollCallbacks );
+        assertEquals( 0, result.timeChangedCallbacks );
+        assertEquals( 4, result.scrollUnitChangedCallbacks );
+        assertEquals( 7, result.invalidations );
+        assertEquals( 1, result.frames );
+        assertEquals( 2000, result.finalTime );
+    }
+
+    @Test
+    public void repeatedScenariosStartFromZero()
+    {
+        final GestureReplay replay = standalone();
+        final GestureReplay.Result first = replay.slowDrag( 3 );
+        final GestureReplay.Result second = replay.slowDrag( 3 );
+        assertEquals( first.updateTimeCalls, second.updateTimeCalls );
+        assertEquals( first.timeScrollCallbacks, second.timeScrollCallbacks );
+        assertEquals( first.invalidations, second.invalidations );
+        assertEquals( 2 * first.finalTime, second.finalTime );
+    }
+}
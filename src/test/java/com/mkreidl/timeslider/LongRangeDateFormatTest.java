@@ -0,0 +1,67 @@
+package com.mkreidl.timeslider;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongRangeDateFormatTest
+{
+    private final LongRangeTime time = new LongRangeTime();
+
+    @Test
+    public void numericFields()
+    {
+        assertEquals( "2001-05-07 03:04:05.006", format( "yyyy-MM-dd HH:mm:ss.SSS", 2001, 5, 7, 3, 4, 5, 6 ) );
+        assertEquals( "2001-5-7 3:4:5", format( "y-M-d H:m:s", 2001, 5, 7, 3, 4, 5, 6 ) );
+    }
+
+    @Test
+    public void astronomicalYears()
+    {
+        assertEquals( "0000", format( "yyyy", 0, 1, 1, 0, 0, 0, 0 ) );
+        assertEquals( "-0752", format( "yyyy", -752, 4, 21, 0, 0, 0, 0 ) );
+        assertEquals( "-1000000", format( "yyyy", -1000000, 1, 1, 0, 0, 0, 0 ) );
+        assertEquals( "12345", format( "yy", 12345, 1, 1, 0, 0, 0, 0 ) );
+    }
+
+    @Test
+    public void monthNames()
+    {
+        assertEquals( "Feb", format( "MMM", -44, 2, 15, 0, 0, 0, 0 ) );
+        assertEquals( "February", format( "MMMM", -44, 2, 15, 0, 0, 0, 0 ) );
+    }
+
+    @Test
+    public void quotedLiterals()
+    {
+        assertEquals( "o'clock", format( "'o''clock'", 2001, 1, 1, 0, 0, 0, 0 ) );
+        assertEquals( "3 o'clock", format( "H 'o''clock'", 2001, 1, 1, 3, 0, 0, 0 ) );
+        assertEquals( "'03'", format( "''HH''", 2001, 1, 1, 3, 0, 0, 0 ) );
+        assertEquals( "year 2001", format( "'year' yyyy", 2001, 1, 1, 0, 0, 0, 0 ) );
+        assertEquals( "''", format( "''''", 2001, 1, 1, 0, 0, 0, 0 ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void unterminatedQuote()
+    {
+        new LongRangeDateFormat( "'o''clock", Locale.US );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void unsupportedLetter()
+    {
+        new LongRangeDateFormat( "EEE", Locale.US );
+    }
+
+    private String format( String pattern, long year, int month, int day, int hour, int minute, int second, int millis )
+    {
+        time.setLocalMillis( LongRangeTime.epochDay( year, month, day ) * LongRangeTime.MILLIS_PER_DAY
+                + hour * LongRangeTime.MILLIS_PER_HOUR + minute * LongRangeTime.MILLIS_PER_MINUTE
+                + second * LongRangeTime.MILLIS_PER_SECOND + millis );
+        final StringBuilder out = new StringBuilder();
+        new LongRangeDateFormat( pattern, Locale.US ).format( time, out );
+        return out.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.mkreidl.timeslider;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongRangeTimeTest
+{
+    private static final long DAYS_PER_MILLION_YEARS = 365242500L;
+
+    private final LongRangeTime time = new LongRangeTime();
+
+    @Test
+    public void epochDayOfKnownDates()
+    {
+        assertEquals( 0, LongRangeTime.epochDay( 1970, 1, 1 ) );
+        assertEquals( 11017, LongRangeTime.epochDay( 2000, 3, 1 ) );
+        assertEquals( -719528, LongRangeTime.epochDay( 0, 1, 1 ) );
+        assertEquals( -719162, LongRangeTime.epochDay( 1, 1, 1 ) );
+        // Julian Day 0 falls on 4714 BC November 24 in the proleptic Gregorian calendar
+        assertEquals( -2440588, LongRangeTime.epochDay( -4713, 11, 24 ) );
+    }
+
+    @Test
+    public void epochDayRoundTripOverMillionYears()
+    {
+        for ( long epochDay = -DAYS_PER_MILLION_YEARS; epochDay <= DAYS_PER_MILLION_YEARS; epochDay += 9973 )
+            assertRoundTrip( epochDay );
+        for ( long epochDay = LongRangeTime.epochDay( -2, 1, 1 ); epochDay <= LongRangeTime.epochDay( 2, 12, 31 ); epochDay++ )
+            assertRoundTrip( epochDay );
+    }
+
+    @Test
+    public void matchesProlepticGregorianCalendar()
+    {
+        final GregorianCalendar calendar = new GregorianCalendar( TimeZone.getTimeZone( "UTC" ) );
+        calendar.setGregorianChange( new Date( Long.MIN_VALUE ) );
+        for ( long epochDay = LongRangeTime.epochDay( -3000, 1, 1 ); epochDay <= LongRangeTime.epochDay( 3000, 1, 1 ); epochDay += 97 )
+        {
+            calendar.setTimeInMillis( epochDay * LongRangeTime.MILLIS_PER_DAY );
+            time.setEpochDay( epochDay );
+            final long year = calendar.get( Calendar.ERA ) == GregorianCalendar.BC ?
+                    1 - calendar.get( Calendar.YEAR ) : calendar.get( Calendar.YEAR );
+            assertEquals( year, time.year );
+            assertEquals( calendar.get( Calendar.MONTH ) + 1, time.month );
+            assertEquals( calendar.get( Calendar.DAY_OF_MONTH ), time.day );
+        }
+    }
+
+    @Test
+    public void localMillisRoundTrip()
+    {
+        time.setLocalMillis( -1 );
+        assertEquals( 1969, time.year );
+        assertEquals( 12, time.month );
+        assertEquals( 31, time.day );
+        assertEquals( 23, time.getHour() );
+        assertEquals( 59, time.getMinute() );
+        assertEquals( 59, time.getSecond() );
+        assertEquals( 999, time.getMillisecond() );
+        assertEquals( -1, time.getLocalMillis() );
+
+        final long millis = millis( -752, 4, 21, 6, 30, 15, 500 );
+        time.setLocalMillis( millis );
+        assertEquals( -752, time.year );
+        assertEquals( 4, time.month );
+        assertEquals( 21, time.day );
+        assertEquals( millis, time.getLocalMillis() );
+    }
+
+    @Test
+    public void leapYears()
+    {
+        assertEquals( 29, LongRangeTime.lengthOfMonth( 2000, 2 ) );
+        assertEquals( 28, LongRangeTime.lengthOfMonth( 1900, 2 ) );
+        assertEquals( 29, LongRangeTime.lengthOfMonth( 0, 2 ) );
+        assertEquals( 29, LongRangeTime.lengthOfMonth( -4, 2 ) );
+        assertEquals( 28, LongRangeTime.lengthOfMonth( -100, 2 ) );
+        assertEquals( 29, LongRangeTime.lengthOfMonth( -400, 2 ) );
+    }
+
+    @Test
+    public void addClampsToMonthEnd()
+    {
+        assertEquals( day( 2020, 2, 29 ), time.add( day( 2020, 1, 31 ), Calendar.MONTH, 1 ) );
+        assertEquals( day( 2019, 2, 28 ), time.add( day( 2019, 1, 31 ), Calendar.MONTH, 1 ) );
+        assertEquals( day( 2020, 4, 30 ), time.add( day( 2020, 3, 31 ), Calendar.MONTH, 1 ) );
+        assertEquals( day( 2020, 2, 29 ), time.add( day( 2020, 3, 31 ), Calendar.MONTH, -1 ) );
+        assertEquals( day( -1, 12, 31 ), time.add( day( 1, 1, 31 ), Calendar.MONTH, -13 ) );
+        assertEquals( day( 2021, 2, 28 ), time.add( day( 2020, 2, 29 ), Calendar.YEAR, 1 ) );
+        assertEquals( day( 2024, 2, 29 ), time.add( day( 2020, 2, 29 ), Calendar.YEAR, 4 ) );
+        assertEquals( day( -1, 2, 28 ), time.add( day( 0, 2, 29 ), Calendar.YEAR, -1 ) );
+    }
+
+    @Test
+    public void addFarSteps()
+    {
+        assertEquals( day( -998000, 6, 15 ), time.add( day( 2000, 6, 15 ), Calendar.YEAR, -1000000 ) );
+        assertEquals( day( 1002000, 6, 15 ), time.add( day( 2000, 6, 15 ), Calendar.MONTH, 12000000 ) );
+        assertEquals( millis( 2000, 6, 15, 3, 0, 0, 0 ), time.add( day( 2000, 6, 15 ), Calendar.HOUR_OF_DAY, 3 ) );
+    }
+
+    @Test
+    public void quantizeEveryUnit()
+    {
+        final long current = millis( 2001, 5, 17, 13, 45, 30, 250 );
+        final long continuous = millis( 1999, 8, 3, 7, 12, 44, 999 );
+        assertEquals( millis( 1999, 5, 17, 13, 45, 30, 250 ), time.quantize( continuous, current, Calendar.YEAR, 1 ) );
+        assertEquals( millis( 1999, 8, 17, 13, 45, 30, 250 ), time.quantize( continuous, current, Calendar.MONTH, 1 ) );
+        assertEquals( millis( 1999, 8, 3, 13, 45, 30, 250 ), time.quantize( continuous, current, Calendar.DAY_OF_MONTH, 1 ) );
+        assertEquals( millis( 1999, 8, 3, 7, 45, 30, 250 ), time.quantize( continuous, current, Calendar.HOUR_OF_DAY, 1 ) );
+        assertEquals( millis( 1999, 8, 3, 7, 12, 30, 250 ), time.quantize( continuous, current, Calendar.MINUTE, 1 ) );
+        assertEquals( millis( 1999, 8, 3, 7, 12, 44, 250 ), time.quantize( continuous, current, Calendar.SECOND, 1 ) );
+    }
+
+    @Test
+    public void quantizeBeforeEpoch()
+    {
+        final long current = millis( -500, 1, 1, 23, 59, 59, 999 );
+        final long continuous = millis( -501, 12, 31, 0, 0, 0, 1 );
+        assertEquals( millis( -501, 1, 1, 23, 59, 59, 999 ), time.quantize( continuous, current, Calendar.YEAR, 1 ) );
+        assertEquals( millis( -501, 12, 1, 23, 59, 59, 999 ), time.quantize( continuous, current, Calendar.MONTH, 1 ) );
+        assertEquals( millis( -501, 12, 31, 23, 59, 59, 999 ), time.quantize( continuous, current, Calendar.DAY_OF_MONTH, 1 ) );
+        assertEquals( millis( -501, 12, 31, 0, 59, 59, 999 ), time.quantize( continuous, current, Calendar.HOUR_OF_DAY, 1 ) );
+        assertEquals( millis( -501, 12, 31, 0, 0, 59, 999 ), time.quantize( continuous, current, Calendar.MINUTE, 1 ) );
+        assertEquals( millis( -501, 12, 31, 0, 0, 0, 999 ), time.quantize( continuous, current, Calendar.SECOND, 1 ) );
+    }
+
+    @Test
+    public void quantizeDecadesCenturiesMillennia()
+    {
+        final long current = day( 2000, 3, 10 );
+        assertEquals( day( 0, 3, 10 ), time.quantize( day( 0, 1, 1 ), current, Calendar.YEAR, 10 ) );
+        assertEquals( day( 0, 3, 10 ), time.quantize( day( 9, 12, 31 ), current, Calendar.YEAR, 10 ) );
+        assertEquals( day( -10, 3, 10 ), time.quantize( day( -1, 12, 31 ), current, Calendar.YEAR, 10 ) );
+        assertEquals( day( -10, 3, 10 ), time.quantize( day( -10, 1, 1 ), current, Calendar.YEAR, 10 ) );
+        assertEquals( day( -20, 3, 10 ), time.quantize( day( -11, 6, 1 ), current, Calendar.YEAR, 10 ) );
+        assertEquals( day( -100, 3, 10 ), time.quantize( day( -1, 6, 1 ), current, Calendar.YEAR, 100 ) );
+        assertEquals( day( 1900, 3, 10 ), time.quantize( day( 1999, 6, 1 ), current, Calendar.YEAR, 100 ) );
+        assertEquals( day( -1000, 3, 10 ), time.quantize( day( -1, 6, 1 ), current, Calendar.YEAR, 1000 ) );
+        assertEquals( day( -2000, 3, 10 ), time.quantize( day( -1500, 6, 1 ), current, Calendar.YEAR, 1000 ) );
+        assertEquals( day( -1000000, 3, 10 ), time.quantize( day( -999999, 6, 1 ), current, Calendar.YEAR, 1000 ) );
+    }
+
+    @Test
+    public void quantizeClampsToMonthEnd()
+    {
+        assertEquals( day( 2021, 2, 28 ), time.quantize( day( 2021, 7, 1 ), day( 2020, 2, 29 ), Calendar.YEAR, 1 ) );
+        assertEquals( day( -1, 2, 28 ), time.quantize( day( -1, 7, 1 ), day( 0, 2, 29 ), Calendar.YEAR, 1 ) );
+        assertEquals( day( 2019, 2, 28 ), time.quantize( day( 2019, 2, 3 ), day( 2019, 1, 31 ), Calendar.MONTH, 1 ) );
+        assertEquals( day( 2020, 4, 30 ), time.quantize( day( 2020, 4, 3 ), day( 2020, 3, 31 ), Calendar.MONTH, 1 ) );
+    }
+
+    private void assertRoundTrip( long epochDay )
+    {
+        time.setEpochDay( epochDay );
+        assertEquals( epochDay, LongRangeTime.epochDay( time.year, time.month, time.day ) );
+    }
+
+    private static long day( long year, int month, int day )
+    {
+        return LongRangeTime.epochDay( year, month, day ) * LongRangeTime.MILLIS_PER_DAY;
+    }
+
+    private static long millis( long year, int month, int day, int hour, int minute, int second, int millis )
+    {
+        return day( year, month, day ) + hour * LongRangeTime.MILLIS_PER_HOUR
+                + minute * LongRangeTime.MILLIS_PER_MINUTE + second * LongRangeTime.MILLIS_PER_SECOND + millis;
+    }
+}
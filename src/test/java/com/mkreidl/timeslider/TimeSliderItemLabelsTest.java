@@ -0,0 +1,97 @@
+package com.mkreidl.timeslider;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the label cache behind the accessibility nodes formats only the items entering the
+ * window and yields the same labels as formatting a fresh slider at the same time and unit.
+ */
+@RunWith( RobolectricTestRunner.class )
+@Config( sdk = 28 )
+public class TimeSliderItemLabelsTest
+{
+    private static final int NUM_ITEMS = 5;
+
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    @Test
+    public void labelsOfInitialWindow()
+    {
+        final TimeSlider slider = GestureReplay.createSlider( context );
+        assertArrayEquals( new String[]{"23:59:58", "23:59:59", "00:00:00", "00:00:01", "00:00:02"},
+                slider.getItemLabels() );
+        assertEquals( NUM_ITEMS, slider.getItemLabelsFormatted() );
+    }
+
+    @Test
+    public void unchangedWindowFormatsNothing()
+    {
+        final TimeSlider slider = GestureReplay.createSlider( context );
+        slider.getItemLabels();
+        assertShift( slider, 0, 0 );
+    }
+
+    @Test
+    public void shiftFormatsEnteringItems()
+    {
+        for ( int count = 1; count <= NUM_ITEMS + 2; count++ )
+        {
+            assertShift( count, false );
+            assertShift( -count, false );
+        }
+    }
+
+    @Test
+    public void shiftFormatsEnteringItemsInLongRangeMode()
+    {
+        for ( int count = 1; count <= NUM_ITEMS + 2; count++ )
+        {
+            assertShift( count, true );
+            assertShift( -count, true );
+        }
+    }
+
+    @Test
+    public void unitChangeFormatsAllItems()
+    {
+        final TimeSlider slider = GestureReplay.createSlider( context );
+        slider.getItemLabels();
+        slider.cycleTimeUnits();
+        assertShift( slider, 0, NUM_ITEMS );
+        assertArrayEquals( new String[]{"23:58", "23:59", "00:00", "00:01", "00:02"}, slider.getItemLabels() );
+        assertShift( slider, 1, 1 );
+    }
+
+    private void assertShift( int count, boolean longRange )
+    {
+        final TimeSlider slider = GestureReplay.createSlider( context );
+        slider.setLongRange( longRange );
+        slider.getItemLabels();
+        assertShift( slider, count, Math.min( Math.abs( count ), NUM_ITEMS ) );
+    }
+
+    /**
+     * Step the slider by the given number of time units and check the labels and the number of labels formatted.
+     */
+    private void assertShift( TimeSlider slider, int count, int expectedFormatted )
+    {
+        final int formatted = slider.getItemLabelsFormatted();
+        slider.stepTimeUnits( count );
+        final String[] labels = slider.getItemLabels();
+        assertEquals( "shift by " + count, expectedFormatted, slider.getItemLabelsFormatted() - formatted );
+
+        final TimeSlider reference = GestureReplay.createSlider( context );
+        reference.setLongRange( slider.isLongRange() );
+        reference.restoreState( slider.getTime(), slider.getTimeUnitIndex() );
+        assertArrayEquals( "shift by " + count, reference.getItemLabels(), labels );
+    }
+}
@@ -0,0 +1,178 @@
+package com.mkreidl.timeslider;
+
+import android.content.Context;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.SparseArray;
+import android.view.View;
+import android.widget.CheckBox;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Saves a hierarchy of the form layout { slider, nested layout { slider, slider }, check box },
+ * passes the state through a Parcel and restores it into a freshly built hierarchy.
+ */
+@RunWith( RobolectricTestRunner.class )
+@Config( sdk = 28 )
+public class TimeSliderLayoutStateTest
+{
+    private static final long TIME = 1234567890000L;
+    private static final int LAYOUT_ID = 1;
+    private static final int NESTED_LAYOUT_ID = 2;
+    private static final int CHECK_BOX_ID = 3;
+    private static final int FIRST_SLIDER_ID = 10;
+
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    @Test
+    public void restoresNestedLayoutFromLayoutState()
+    {
+        final TimeSliderLayout saved = createHierarchy( true, false );
+        saved.setTime( TIME );
+        slider( saved, 0 ).cycleTimeUnits();
+        slider( saved, 2 ).cycleTimeUnits();
+        slider( saved, 2 ).cycleTimeUnits();
+        checkBox( saved ).setChecked( true );
+
+        final TimeSliderLayout restored = createHierarchy( true, false );
+        restored.restoreHierarchyState( saveThroughParcel( saved ) );
+
+        assertState( restored, 1, 0, 2 );
+        assertEquals( TIME, restored.getTime() );
+        assertEquals( TIME, nestedLayout( restored ).getTime() );
+        // The last scrolled slider sits in the nested layout and stays active in both layouts
+        restored.cycleTimeUnits();
+        assertEquals( 0, slider( restored, 2 ).getTimeUnitIndex() );
+        nestedLayout( restored ).cycleTimeUnits();
+        assertEquals( 1, slider( restored, 2 ).getTimeUnitIndex() );
+        assertEquals( 1, slider( restored, 0 ).getTimeUnitIndex() );
+    }
+
+    @Test
+    public void restoresActiveSliderOfEachLayout()
+    {
+        final TimeSliderLayout saved = createHierarchy( true, false );
+        slider( saved, 1 ).cycleTimeUnits();
+        slider( saved, 0 ).cycleTimeUnits();
+
+        final TimeSliderLayout restored = createHierarchy( true, false );
+        restored.restoreHierarchyState( saveThroughParcel( saved ) );
+
+        restored.cycleTimeUnits();
+        assertEquals( 2, slider( restored, 0 ).getTimeUnitIndex() );
+        nestedLayout( restored ).cycleTimeUnits();
+        assertEquals( 2, slider( restored, 1 ).getTimeUnitIndex() );
+        assertEquals( 0, slider( restored, 2 ).getTimeUnitIndex() );
+    }
+
+    @Test
+    public void restoresSlidersOfLayoutWithoutId()
+    {
+        final TimeSliderLayout saved = createHierarchy( false, true );
+        saved.setTime( TIME );
+        slider( saved, 0 ).cycleTimeUnits();
+        slider( saved, 2 ).cycleTimeUnits();
+        slider( saved, 2 ).cycleTimeUnits();
+        checkBox( saved ).setChecked( true );
+
+        final TimeSliderLayout restored = createHierarchy( false, true );
+        restored.restoreHierarchyState( saveThroughParcel( saved ) );
+
+        assertState( restored, 1, 0, 2 );
+    }
+
+    private static void assertState( TimeSliderLayout layout, int... unitIndices )
+    {
+        for ( int i = 0; i < unitIndices.length; i++ )
+        {
+            assertEquals( TIME, slider( layout, i ).getTime() );
+            assertEquals( unitIndices[i], slider( layout, i ).getTimeUnitIndex() );
+        }
+        assertTrue( checkBox( layout ).isChecked() );
+    }
+
+    /**
+     * @param layoutIds whether the layouts have IDs
+     * @param sliderIds whether the sliders have IDs
+     */
+    private TimeSliderLayout createHierarchy( boolean layoutIds, boolean sliderIds )
+    {
+        final TimeSliderLayout nested = new TimeSliderLayout( context );
+        nested.setId( layoutIds ? NESTED_LAYOUT_ID : View.NO_ID );
+        for ( int i = 1; i < 3; i++ )
+            nested.addView( createSlider( sliderIds ? FIRST_SLIDER_ID + i : View.NO_ID ) );
+        nested.onFinishInflate();
+
+        final CheckBox checkBox = new CheckBox( context );
+        checkBox.setId( CHECK_BOX_ID );
+
+        final TimeSliderLayout layout = new TimeSliderLayout( context );
+        layout.setId( layoutIds ? LAYOUT_ID : View.NO_ID );
+        layout.addView( createSlider( sliderIds ? FIRST_SLIDER_ID : View.NO_ID ) );
+        layout.addView( nested );
+        layout.addView( checkBox );
+        layout.onFinishInflate();
+        layout.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+        layout.setLocale( Locale.US );
+        return layout;
+    }
+
+    private TimeSlider createSlider( int id )
+    {
+        final TimeSlider slider = new TimeSlider( context );
+        slider.setId( id );
+        return slider;
+    }
+
+    private static TimeSliderLayout nestedLayout( TimeSliderLayout layout )
+    {
+        return (TimeSliderLayout)layout.getChildAt( 1 );
+    }
+
+    /**
+     * @param index depth-first index of the slider in the hierarchy
+     */
+    private static TimeSlider slider( TimeSliderLayout layout, int index )
+    {
+        return (TimeSlider)( index == 0 ? layout.getChildAt( 0 ) : nestedLayout( layout ).getChildAt( index - 1 ) );
+    }
+
+    private static CheckBox checkBox( TimeSliderLayout layout )
+    {
+        return (CheckBox)layout.getChildAt( 2 );
+    }
+
+    private static SparseArray<Parcelable> saveThroughParcel( View view )
+    {
+        final SparseArray<Parcelable> container = new SparseArray<>();
+        view.saveHierarchyState( container );
+        final Parcel parcel = Parcel.obtain();
+        parcel.writeInt( container.size() );
+        for ( int i = 0; i < container.size(); i++ )
+        {
+            parcel.writeInt( container.keyAt( i ) );
+            parcel.writeParcelable( container.valueAt( i ), 0 );
+        }
+        parcel.setDataPosition( 0 );
+
+        final SparseArray<Parcelable> restored = new SparseArray<>();
+        for ( int size = parcel.readInt(); size > 0; size-- )
+        {
+            final int key = parcel.readInt();
+            restored.put( key, parcel.readParcelable( TimeSliderLayoutStateTest.class.getClassLoader() ) );
+        }
+        parcel.recycle();
+        return restored;
+    }
+}